@@ -0,0 +1,60 @@
+package br.ifsp.demo.benchmark;
+
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.SyntheticWallets;
+import br.ifsp.demo.domain.Wallet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvestmentLookupBenchmark {
+
+    @Param({"10", "1000", "10000", "50000"})
+    private int investments;
+
+    private Wallet wallet;
+    private UUID[] ids;
+    private Asset asset;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        wallet = SyntheticWallets.wallet(investments, 11L);
+        List<Investment> all = wallet.getInvestments();
+        ids = all.stream().map(Investment::getId).toArray(UUID[]::new);
+        asset = all.getFirst().getAsset();
+    }
+
+    private UUID nextId() {
+        cursor = (cursor + 1) % ids.length;
+        return ids[cursor];
+    }
+
+    @Benchmark
+    public Optional<Investment> lookupById() {
+        return wallet.getInvestmentById(nextId());
+    }
+
+    @Benchmark
+    public Optional<Investment> lookupMissingId() {
+        return wallet.getInvestmentById(UUID.randomUUID());
+    }
+
+    @Benchmark
+    public Investment addThenRemove() {
+        Investment investment = SyntheticWallets.investment(asset);
+        wallet.addInvestment(investment);
+        wallet.removeInvestment(investment);
+        return investment;
+    }
+}
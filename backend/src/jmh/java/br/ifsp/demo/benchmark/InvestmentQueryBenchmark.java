@@ -0,0 +1,156 @@
+package br.ifsp.demo.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvestmentQueryBenchmark {
+    private static final int INVESTMENTS = 1_000_000;
+    private static final int WALLETS = 10_000;
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2025, 4, 25);
+
+    @Param({"1", "2"})
+    private String schemaVersion;
+
+    private Path database;
+    private Connection connection;
+    private PreparedStatement activeByWallet;
+    private PreparedStatement purchasedByWallet;
+    private PreparedStatement userByEmail;
+    private PreparedStatement countByAsset;
+    private String[] walletIds;
+    private String[] emails;
+    private List<String> assetIds;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        database = Files.createTempFile("investment-query-benchmark", ".db");
+        String url = "jdbc:sqlite:" + database;
+        Flyway.configure()
+                .dataSource(url, null, null)
+                .target(schemaVersion)
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(url);
+        seed();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+
+        activeByWallet = connection.prepareStatement(
+                "SELECT * FROM investment WHERE wallet_id = ? AND withdraw_date IS NULL");
+        purchasedByWallet = connection.prepareStatement(
+                "SELECT * FROM investment WHERE wallet_id = ? AND purchase_date BETWEEN ? AND ? ORDER BY purchase_date, id");
+        userByEmail = connection.prepareStatement("SELECT * FROM app_user WHERE email = ?");
+        countByAsset = connection.prepareStatement("SELECT COUNT(*) FROM investment WHERE asset_id = ?");
+    }
+
+    private void seed() throws SQLException {
+        SplittableRandom random = new SplittableRandom(7L);
+        walletIds = new String[WALLETS];
+        emails = new String[WALLETS];
+        connection.setAutoCommit(false);
+        try (PreparedStatement user = connection.prepareStatement(
+                     "INSERT INTO app_user (id, email, lastname, name, password, role) VALUES (?, ?, 'Snow', 'John', 'secret', 'USER')");
+             PreparedStatement wallet = connection.prepareStatement("INSERT INTO wallet (id, user_id) VALUES (?, ?)");
+             PreparedStatement investment = connection.prepareStatement(
+                     "INSERT INTO investment (initial_value, purchase_date, withdraw_date, asset_id, id, wallet_id) VALUES (?, ?, ?, ?, ?, ?)");
+             Statement statement = connection.createStatement();
+             ResultSet assets = statement.executeQuery("SELECT id FROM asset")) {
+            assetIds = new ArrayList<>();
+            while (assets.next()) assetIds.add(assets.getString(1));
+
+            for (int i = 0; i < WALLETS; i++) {
+                String userId = UUID.randomUUID().toString();
+                walletIds[i] = UUID.randomUUID().toString();
+                emails[i] = "user" + i + "@wallet.com";
+                user.setString(1, userId);
+                user.setString(2, emails[i]);
+                user.addBatch();
+                wallet.setString(1, walletIds[i]);
+                wallet.setString(2, userId);
+                wallet.addBatch();
+            }
+            user.executeBatch();
+            wallet.executeBatch();
+
+            for (int i = 0; i < INVESTMENTS; i++) {
+                LocalDate purchaseDate = REFERENCE_DATE.minusDays(random.nextInt(1_000));
+                investment.setDouble(1, 100 + random.nextInt(100_000));
+                investment.setString(2, purchaseDate.toString());
+                investment.setString(3, random.nextInt(4) == 0 ? purchaseDate.plusDays(30).toString() : null);
+                investment.setString(4, assetIds.get(random.nextInt(assetIds.size())));
+                investment.setString(5, UUID.randomUUID().toString());
+                investment.setString(6, walletIds[random.nextInt(WALLETS)]);
+                investment.addBatch();
+                if (i % 10_000 == 9_999) investment.executeBatch();
+            }
+            investment.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException, IOException {
+        connection.close();
+        Files.deleteIfExists(database);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) % WALLETS;
+        return cursor;
+    }
+
+    private static int drain(PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) rows++;
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public int activeInvestmentsByWallet() throws SQLException {
+        activeByWallet.setString(1, walletIds[next()]);
+        return drain(activeByWallet);
+    }
+
+    @Benchmark
+    public int investmentsPurchasedByWalletInPeriod() throws SQLException {
+        purchasedByWallet.setString(1, walletIds[next()]);
+        purchasedByWallet.setString(2, REFERENCE_DATE.minusDays(180).toString());
+        purchasedByWallet.setString(3, REFERENCE_DATE.toString());
+        return drain(purchasedByWallet);
+    }
+
+    @Benchmark
+    public int userByEmail() throws SQLException {
+        userByEmail.setString(1, emails[next()]);
+        return drain(userByEmail);
+    }
+
+    @Benchmark
+    public int investmentsByAsset() throws SQLException {
+        countByAsset.setString(1, assetIds.get(next() % assetIds.size()));
+        return drain(countByAsset);
+    }
+}
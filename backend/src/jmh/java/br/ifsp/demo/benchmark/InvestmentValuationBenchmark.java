@@ -0,0 +1,41 @@
+package br.ifsp.demo.benchmark;
+
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.SyntheticWallets;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvestmentValuationBenchmark {
+
+    private Investment active;
+    private Investment withdrawn;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var wallet = SyntheticWallets.wallet(1_000, 7L);
+        active = wallet.getInvestments().getFirst();
+        withdrawn = wallet.getHistoryInvestments().getFirst();
+    }
+
+    @Benchmark
+    public double activeCurrentBalance() {
+        return active.calculateCurrentBalance();
+    }
+
+    @Benchmark
+    public double withdrawnCurrentBalance() {
+        return withdrawn.calculateCurrentBalance();
+    }
+
+    @Benchmark
+    public double futureBalance() {
+        return active.calculateFutureBalance();
+    }
+}
@@ -0,0 +1,105 @@
+package br.ifsp.demo.benchmark;
+
+import br.ifsp.demo.security.config.JwtAuthenticationFilter;
+import br.ifsp.demo.security.config.JwtService;
+import br.ifsp.demo.security.config.UserStatusCache;
+import br.ifsp.demo.security.user.JpaUserRepository;
+import br.ifsp.demo.security.user.Role;
+import br.ifsp.demo.security.user.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.ServletException;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Param({"false", "true"})
+    private boolean stateless;
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private User user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET_KEY);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 8_640_000L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .name("John")
+                .lastname("Snow")
+                .email("john@snow.com")
+                .password("secret")
+                .role(Role.USER)
+                .build();
+        token = jwtService.generateToken(user);
+        JpaUserRepository repository = Mockito.mock(JpaUserRepository.class);
+        Mockito.when(repository.findRoleById(user.getId())).thenReturn(Optional.of(Role.USER));
+        filter = new JwtAuthenticationFilter(jwtService, username -> user, new UserStatusCache(repository, 60, 1_000));
+        ReflectionTestUtils.setField(filter, "stateless", stateless);
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filterAuthenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/wallet");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Benchmark
+    public boolean validateWithSingleParse() {
+        Claims claims = jwtService.parseToken(token);
+        return jwtService.isTokenValid(claims, user);
+    }
+
+    @Benchmark
+    public boolean validateWithKeyRebuiltPerParse() {
+        String username = legacyParse(token).getSubject();
+        UserDetails userDetails = user;
+        return legacyParse(token).getSubject().equals(userDetails.getUsername())
+                && username != null
+                && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
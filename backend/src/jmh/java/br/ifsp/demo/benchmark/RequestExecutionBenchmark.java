@@ -0,0 +1,135 @@
+package br.ifsp.demo.benchmark;
+
+import br.ifsp.demo.DemoAuthAppApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the whole backend: a burst of concurrent authenticated requests against an embedded server,
+ * served either by the default platform thread Tomcat pool or by virtual threads behind the connection pool
+ * limiter. {@code rejected} counts requests answered with 503 by the limiter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestExecutionBenchmark {
+    private static final int CONCURRENT_REQUESTS = 400;
+    private static final int INVESTMENTS = 200;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"/api/v1/wallet", "/api/v1/wallet/report"})
+    private String path;
+
+    private Path database;
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private String baseUrl;
+    private String token;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+        public long ok;
+        public long rejected;
+        public long failed;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        database = Files.createTempFile("request-execution-benchmark", ".db");
+        context = new SpringApplicationBuilder(DemoAuthAppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:sqlite:" + database + "?journal_mode=WAL&busy_timeout=5000&foreign_keys=true",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.springframework.jdbc=WARN")
+                .run();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clientExecutor).build();
+        seed();
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        send("POST", "/api/v1/register",
+                "{\"name\":\"John\",\"lastname\":\"Snow\",\"email\":\"load@test.com\",\"password\":\"secret\"}");
+        JsonNode auth = JSON.readTree(send("POST", "/api/v1/authenticate",
+                "{\"username\":\"load@test.com\",\"password\":\"secret\"}"));
+        token = auth.get("token").asText();
+
+        JsonNode assets = JSON.readTree(send("GET", "/api/v1/asset", null));
+        for (int i = 0; i < INVESTMENTS; i++) {
+            String assetId = assets.get(i % assets.size()).get("id").asText();
+            send("POST", "/api/v1/wallet/investment",
+                    "{\"initialValue\":" + (100 + i) + ",\"assetId\":\"" + assetId + "\"}");
+        }
+    }
+
+    private String send(String method, String path, String body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) request.header("Authorization", "Bearer " + token);
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400)
+            throw new IllegalStateException(method + " " + path + " answered " + response.statusCode());
+        return response.body();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SpringApplication.exit(context);
+        clientExecutor.close();
+        Files.deleteIfExists(database);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public void concurrentRequests(Responses responses) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        List<CompletableFuture<HttpResponse<Void>>> pending = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            pending.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        for (CompletableFuture<HttpResponse<Void>> response : pending) {
+            try {
+                int status = response.join().statusCode();
+                if (status == 200) responses.ok++;
+                else if (status == 503) responses.rejected++;
+                else responses.failed++;
+            } catch (RuntimeException e) {
+                responses.failed++;
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package br.ifsp.demo.benchmark;
+
+import br.ifsp.demo.DemoAuthAppApplication;
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.security.user.JpaUserRepository;
+import br.ifsp.demo.security.user.Role;
+import br.ifsp.demo.security.user.User;
+import br.ifsp.demo.service.AssetService;
+import br.ifsp.demo.service.WalletService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mixed read/write load on the wallet service with the default single pool against the prod profile, where WAL
+ * mode lets read-only transactions run on the {@code sqlite-reader} pool next to the single writer connection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SqliteDataSourceBenchmark {
+    private static final int USERS = 16;
+    private static final int INVESTMENTS = 50;
+    private static final UUID ASSET_ID = UUID.fromString("5bbff5c5-e4df-4e37-9f46-5cdc332f1f70");
+    private static final String PRAGMAS = "busy_timeout=5000&cache_size=-16000&mmap_size=268435456&foreign_keys=true";
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private WalletService walletService;
+    private Asset asset;
+    private final List<UUID> users = new ArrayList<>();
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        UUID nextUser(List<UUID> users) {
+            return users.get(next++ % users.size());
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("sqlite-datasource-benchmark");
+        String database = directory.resolve("database.db").toString();
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(DemoAuthAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.jpa.show-sql=false",
+                        "application.report-jobs.directory=" + directory.resolve("reports"),
+                        "logging.level.root=WARN",
+                        "logging.level.org.springframework.jdbc=WARN");
+        if (profile.equals("prod")) {
+            builder.profiles("prod").properties(
+                    "spring.datasource.url=jdbc:sqlite:" + database + "?journal_mode=WAL&synchronous=NORMAL&" + PRAGMAS,
+                    "application.datasource.read-url=jdbc:sqlite:" + database + "?jdbc.explicit_readonly=true&" + PRAGMAS);
+        } else {
+            builder.properties("spring.datasource.url=jdbc:sqlite:" + database + "?foreign_keys=true");
+        }
+        context = builder.run();
+        walletService = context.getBean(WalletService.class);
+        asset = context.getBean(AssetService.class).getAssetById(ASSET_ID);
+        seed(context.getBean(JpaUserRepository.class));
+    }
+
+    private void seed(JpaUserRepository userRepository) {
+        for (int i = 0; i < USERS; i++) {
+            UUID id = UUID.randomUUID();
+            userRepository.save(User.builder()
+                    .id(id)
+                    .name("John")
+                    .lastname("Snow")
+                    .email("user" + i + "@snow.com")
+                    .password("secret")
+                    .role(Role.USER)
+                    .build());
+            walletService.createWallet(id);
+            for (int j = 0; j < INVESTMENTS; j++) walletService.addInvestment(id, new Investment(100 + j, asset));
+            users.add(id);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SpringApplication.exit(context);
+        try (var paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(path);
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public void addInvestment(Cursor cursor) {
+        walletService.addInvestment(cursor.nextUser(users), new Investment(100, asset));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public double getTotalBalance(Cursor cursor) {
+        return walletService.getTotalBalance(cursor.nextUser(users));
+    }
+}
@@ -0,0 +1,49 @@
+package br.ifsp.demo.benchmark;
+
+import br.ifsp.demo.domain.AssetType;
+import br.ifsp.demo.domain.SyntheticWallets;
+import br.ifsp.demo.domain.Wallet;
+import br.ifsp.demo.service.WalletReportService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class WalletValuationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int investments;
+
+    private Wallet wallet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        wallet = SyntheticWallets.wallet(investments, 42L);
+    }
+
+    @Benchmark
+    public double totalBalance() {
+        return wallet.getTotalBalance();
+    }
+
+    @Benchmark
+    public double futureBalance() {
+        return wallet.getFutureBalance();
+    }
+
+    @Benchmark
+    public Map<AssetType, Double> investmentsByTypeAndPercentage() {
+        return wallet.filterInvestmentsByTypeAndPercentage(wallet.getInvestments());
+    }
+
+    @Benchmark
+    public String report() {
+        return new WalletReportService(wallet).generateReport();
+    }
+}
@@ -0,0 +1,41 @@
+package br.ifsp.demo.domain;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+public class SyntheticWallets {
+    private static final LocalDate REFERENCE_DATE = LocalDate.of(2025, 4, 25);
+
+    public static Asset[] assets() {
+        AssetType[] types = AssetType.values();
+        Asset[] assets = new Asset[types.length * 2];
+        for (int i = 0; i < assets.length; i++) {
+            AssetType type = types[i % types.length];
+            double profitability = 0.01 + (i % 7) * 0.0015;
+            assets[i] = new Asset(type + " " + i, type, profitability, REFERENCE_DATE.plusYears(2 + i % 4));
+        }
+        return assets;
+    }
+
+    public static Investment investment(Asset asset) {
+        return new Investment(1000, asset, REFERENCE_DATE);
+    }
+
+    public static Wallet wallet(int size, long seed) {
+        Random random = new Random(seed);
+        Asset[] assets = assets();
+        Wallet wallet = new Wallet();
+
+        for (int i = 0; i < size; i++) {
+            Asset asset = assets[random.nextInt(assets.length)];
+            double initialValue = 100 + random.nextInt(100_000) / 100.0;
+            LocalDate purchaseDate = REFERENCE_DATE.minusDays(random.nextInt(3 * 365));
+            Investment investment = new Investment(initialValue, asset, purchaseDate);
+            wallet.addInvestment(investment);
+            if (random.nextInt(4) == 0) {
+                investment.setWithdrawDate(purchaseDate.plusDays(1 + random.nextInt(180)));
+            }
+        }
+        return wallet;
+    }
+}
@@ -0,0 +1,48 @@
+package br.ifsp.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "application.datasource.routing.enabled", havingValue = "true")
+public class SqliteDataSourceConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource writeDataSource(@Value("${spring.datasource.url}") String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("sqlite-writer");
+        dataSource.setDriverClassName("org.sqlite.JDBC");
+        dataSource.setJdbcUrl(url);
+        dataSource.setMaximumPoolSize(1);
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource readDataSource(@Value("${application.datasource.read-url}") String url,
+                                           @Value("${application.datasource.read-pool-size:4}") int poolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("sqlite-reader");
+        dataSource.setDriverClassName("org.sqlite.JDBC");
+        dataSource.setJdbcUrl(url);
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                                 @Qualifier("readDataSource") DataSource readDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(writeDataSource);
+        dataSource.setReadOnlyDataSource(readDataSource);
+        return dataSource;
+    }
+}
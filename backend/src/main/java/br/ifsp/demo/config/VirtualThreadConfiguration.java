@@ -0,0 +1,55 @@
+package br.ifsp.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Extra wiring for {@code spring.threads.virtual.enabled=true}, where Spring Boot already serves requests and
+ * runs {@code @Async} tasks on virtual threads. Requests are limited ahead of the security filters, which also
+ * hit the database, to as many as the connection pools can serve.
+ * <p>
+ * The limit defaults to the connections of every Hikari pool in use (the single default pool, or the writer and
+ * reader pools of the prod profile) minus the report workers, which hold a connection each while generating.
+ * An explicit {@code application.concurrency.max-in-flight} may lower the limit but not exceed those connections.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<ConnectionPoolConcurrencyFilter> connectionPoolConcurrencyFilter(
+            ObjectProvider<HikariDataSource> pools,
+            @Value("${application.concurrency.max-in-flight:#{null}}") Integer maxInFlight,
+            @Value("${application.report-jobs.workers:2}") int reportWorkers,
+            @Value("${application.concurrency.acquire-timeout:2s}") Duration acquireTimeout) {
+        int connections = pools.orderedStream().mapToInt(HikariDataSource::getMaximumPoolSize).sum();
+        FilterRegistrationBean<ConnectionPoolConcurrencyFilter> registration = new FilterRegistrationBean<>(
+                new ConnectionPoolConcurrencyFilter(maxInFlight(maxInFlight, connections, reportWorkers), acquireTimeout));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    static int maxInFlight(Integer configured, int connections, int reportWorkers) {
+        int available = connections - reportWorkers;
+        if (available <= 0)
+            throw new IllegalStateException("The " + reportWorkers + " report workers leave none of the "
+                    + connections + " pooled connections to requests");
+        if (configured == null) return available;
+        if (configured <= 0)
+            throw new IllegalArgumentException("Max in flight requests must be greater than zero");
+        if (configured > available)
+            throw new IllegalStateException("Max in flight requests (" + configured + ") exceeds the "
+                    + available + " pooled connections left by the report workers");
+        return configured;
+    }
+}
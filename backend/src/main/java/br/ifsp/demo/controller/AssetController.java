@@ -1,9 +1,8 @@
 package br.ifsp.demo.controller;
 
-import br.ifsp.demo.domain.Asset;
 import br.ifsp.demo.dto.asset.AssetResponseDTO;
-import br.ifsp.demo.mapper.AssetMapper;
-import br.ifsp.demo.repository.AssetRepository;
+import br.ifsp.demo.service.AssetCatalog;
+import br.ifsp.demo.service.AssetService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -14,15 +13,19 @@ import java.util.List;
 @RestController
 @RequestMapping(path = "/api/v1/asset")
 public class AssetController {
-    AssetRepository repository;
+    AssetService service;
 
-    public AssetController(AssetRepository repository) {
-        this.repository = repository;
+    public AssetController(AssetService service) {
+        this.service = service;
     }
 
     @GetMapping()
     public ResponseEntity<List<AssetResponseDTO>> getAssets() {
-        List<Asset> assets = repository.findAll();
-        return ResponseEntity.ok().body(AssetMapper.listToResponseDTO(assets));
+        return ResponseEntity.ok().body(service.getAssets());
+    }
+
+    @GetMapping("/catalog/stats")
+    public ResponseEntity<AssetCatalog.Stats> getCatalogStats() {
+        return ResponseEntity.ok().body(service.getCatalogStats());
     }
 }
@@ -0,0 +1,71 @@
+package br.ifsp.demo.controller;
+
+import br.ifsp.demo.dto.report.ReportJobResponseDTO;
+import br.ifsp.demo.mapper.ReportJobMapper;
+import br.ifsp.demo.security.auth.AuthenticationInfoService;
+import br.ifsp.demo.service.ReportJob;
+import br.ifsp.demo.service.ReportJobMetrics;
+import br.ifsp.demo.service.ReportJobService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping(path = "/api/v1/report-jobs")
+public class ReportJobController {
+    private final ReportJobService reportJobService;
+    private final AuthenticationInfoService authenticationInfoService;
+
+    public ReportJobController(ReportJobService reportJobService,
+                               AuthenticationInfoService authenticationInfoService) {
+        this.reportJobService = reportJobService;
+        this.authenticationInfoService = authenticationInfoService;
+    }
+
+    @PostMapping()
+    public ResponseEntity<ReportJobResponseDTO> submit(@RequestParam(required = false) String format)
+            throws HttpMediaTypeNotAcceptableException {
+        UUID userId = authenticationInfoService.getAuthenticatedUserId();
+        return accepted(reportJobService.submit(userId, format));
+    }
+
+    @PostMapping("/all")
+    public ResponseEntity<ReportJobResponseDTO> submitForAllUsers(@RequestParam(required = false) String format)
+            throws HttpMediaTypeNotAcceptableException {
+        UUID userId = authenticationInfoService.getAuthenticatedUserId();
+        return accepted(reportJobService.submitForAllUsers(userId, format));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ReportJobResponseDTO> getJob(@PathVariable UUID jobId) {
+        UUID userId = authenticationInfoService.getAuthenticatedUserId();
+        ReportJob job = reportJobService.getJob(jobId, userId, authenticationInfoService.isAuthenticatedAdmin());
+        return ResponseEntity.ok().body(ReportJobMapper.toResponseDTO(job));
+    }
+
+    @GetMapping("/{jobId}/result")
+    public ResponseEntity<Resource> downloadResult(@PathVariable UUID jobId) {
+        UUID userId = authenticationInfoService.getAuthenticatedUserId();
+        boolean admin = authenticationInfoService.isAuthenticatedAdmin();
+        ReportJob job = reportJobService.getJob(jobId, userId, admin);
+        Resource result = new FileSystemResource(reportJobService.getResult(jobId, userId, admin));
+        return ResponseEntity.ok().contentType(job.getMediaType()).body(result);
+    }
+
+    @GetMapping("/metrics")
+    public ResponseEntity<ReportJobMetrics> getMetrics() {
+        return ResponseEntity.ok().body(reportJobService.getMetrics());
+    }
+
+    private static ResponseEntity<ReportJobResponseDTO> accepted(ReportJob job) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/v1/report-jobs/" + job.getId()))
+                .body(ReportJobMapper.toResponseDTO(job));
+    }
+}
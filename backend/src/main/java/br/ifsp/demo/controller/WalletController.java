@@ -2,39 +2,75 @@ package br.ifsp.demo.controller;
 
 import br.ifsp.demo.domain.Asset;
 import br.ifsp.demo.domain.AssetType;
+import br.ifsp.demo.domain.BalanceProjection;
 import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.InvestmentCursor;
+import br.ifsp.demo.domain.InvestmentFilter;
+import br.ifsp.demo.domain.InvestmentPage;
 import br.ifsp.demo.domain.Wallet;
+import br.ifsp.demo.dto.investment.InvestmentBatchResponseDTO;
+import br.ifsp.demo.dto.investment.InvestmentPageResponseDTO;
 import br.ifsp.demo.dto.investment.InvestmentRequestDTO;
 import br.ifsp.demo.dto.investment.InvestmentResponseDTO;
+import br.ifsp.demo.dto.wallet.BalanceProjectionResponseDTO;
 import br.ifsp.demo.dto.wallet.WalletResponseDTO;
 import br.ifsp.demo.mapper.InvestmentMapper;
 import br.ifsp.demo.mapper.WalletMapper;
 import br.ifsp.demo.security.auth.AuthenticationInfoService;
 import br.ifsp.demo.service.AssetService;
+import br.ifsp.demo.service.InvestmentBatchResult;
+import br.ifsp.demo.service.InvestmentBatchService;
+import br.ifsp.demo.service.InvestmentExportService;
+import br.ifsp.demo.service.InvestmentNdjsonCodec;
+import br.ifsp.demo.service.WalletReportExportService;
+import br.ifsp.demo.service.WalletReportWriter;
+import br.ifsp.demo.service.WalletReportWriters;
 import br.ifsp.demo.service.WalletService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping(path = "/api/v1/wallet")
 public class WalletController {
-
     private final WalletService walletService;
     private final AuthenticationInfoService authenticationInfoService;
     private final AssetService assetService;
+    private final InvestmentExportService investmentExportService;
+    private final InvestmentNdjsonCodec investmentNdjsonCodec;
+    private final InvestmentBatchService investmentBatchService;
+    private final WalletReportExportService walletReportExportService;
+    private final WalletReportWriters walletReportWriters;
 
     public WalletController(WalletService walletService,
                             AuthenticationInfoService authenticationInfoService,
-                            AssetService assetService) {
+                            AssetService assetService,
+                            InvestmentExportService investmentExportService,
+                            InvestmentNdjsonCodec investmentNdjsonCodec,
+                            InvestmentBatchService investmentBatchService,
+                            WalletReportExportService walletReportExportService,
+                            WalletReportWriters walletReportWriters) {
         this.walletService = walletService;
         this.authenticationInfoService = authenticationInfoService;
         this.assetService = assetService;
+        this.investmentExportService = investmentExportService;
+        this.investmentNdjsonCodec = investmentNdjsonCodec;
+        this.investmentBatchService = investmentBatchService;
+        this.walletReportExportService = walletReportExportService;
+        this.walletReportWriters = walletReportWriters;
     }
 
     @PostMapping()
@@ -42,10 +78,7 @@ public class WalletController {
         UUID userId = authenticationInfoService.getAuthenticatedUserId();
         Wallet wallet = walletService.createWallet(userId);
 
-        List<Investment> investments = walletService.getInvestments(userId);
-        List<Investment> history = walletService.getHistoryInvestments(userId);
-
-        WalletResponseDTO walletResponseDTO = WalletMapper.toResponseDTO(wallet, investments, history);
+        WalletResponseDTO walletResponseDTO = WalletMapper.toResponseDTO(wallet);
         return ResponseEntity.status(HttpStatus.CREATED).body(walletResponseDTO);
     }
 
@@ -54,10 +87,7 @@ public class WalletController {
         UUID userId = authenticationInfoService.getAuthenticatedUserId();
         Wallet wallet = walletService.getWallet(userId);
 
-        List<Investment> investments = walletService.getInvestments(userId);
-        List<Investment> history = walletService.getHistoryInvestments(userId);
-
-        WalletResponseDTO walletResponseDTO = WalletMapper.toResponseDTO(wallet, investments, history);
+        WalletResponseDTO walletResponseDTO = WalletMapper.toResponseDTO(wallet);
         return ResponseEntity.ok().body(walletResponseDTO);
     }
 
@@ -73,7 +103,6 @@ public class WalletController {
     @PostMapping("/investment")
     public ResponseEntity<HttpStatus> addInvestment(@RequestBody @Valid InvestmentRequestDTO dto) {
         UUID userId = authenticationInfoService.getAuthenticatedUserId();
-        Wallet wallet = walletService.getWallet(userId);
         Asset asset = assetService.getAssetById(dto.assetId());
 
         Investment investment = new Investment(
@@ -81,12 +110,28 @@ public class WalletController {
                 asset
         );
 
-        investment.setWallet(wallet);
-
         walletService.addInvestment(userId, investment);
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    @PostMapping(value = "/investment/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<InvestmentBatchResponseDTO> addInvestments(InputStream body) throws IOException {
+        UUID userId = authenticationInfoService.getAuthenticatedUserId();
+        return toBatchResponse(investmentBatchService.addInvestments(userId, investmentNdjsonCodec.readJsonArray(body)));
+    }
+
+    @PostMapping(value = "/investment/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<InvestmentBatchResponseDTO> addInvestmentStream(InputStream body) throws IOException {
+        UUID userId = authenticationInfoService.getAuthenticatedUserId();
+        return toBatchResponse(investmentBatchService.addInvestments(userId, investmentNdjsonCodec.readNdjson(body)));
+    }
+
+    private static ResponseEntity<InvestmentBatchResponseDTO> toBatchResponse(List<InvestmentBatchResult> results) {
+        InvestmentBatchResponseDTO response = InvestmentMapper.toBatchResponseDTO(results);
+        HttpStatus status = response.created() > 0 ? HttpStatus.CREATED : HttpStatus.UNPROCESSABLE_ENTITY;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @DeleteMapping("/investment/{investmentId}")
     public ResponseEntity<HttpStatus> removeInvestment(@PathVariable UUID investmentId) {
         UUID userId = authenticationInfoService.getAuthenticatedUserId();
@@ -103,40 +148,39 @@ public class WalletController {
     }
 
     @GetMapping("/report")
-    public ResponseEntity<String> generateReport() {
+    public void generateReport(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                               HttpServletResponse response) throws IOException, HttpMediaTypeNotAcceptableException {
         UUID userId = authenticationInfoService.getAuthenticatedUserId();
-        String report = walletService.generateReport(userId);
+        WalletReportWriter writer = walletReportWriters.select(accept);
 
-        return ResponseEntity.ok().body(report);
+        walletReportExportService.export(userId, writer, mediaType -> {
+            response.setContentType(mediaType.toString());
+            return response.getOutputStream();
+        });
+        response.flushBuffer();
     }
 
     @GetMapping("/history/filterByType/{type}")
     public ResponseEntity<List<InvestmentResponseDTO>> filterHistoryByType(@PathVariable AssetType type) {
         UUID userId = authenticationInfoService.getAuthenticatedUserId();
-        Wallet wallet = walletService.getWallet(userId);
-
         List<Investment> investments = walletService.filterHistory(userId, type);
-        List<InvestmentResponseDTO> investmentsResponseDTO = InvestmentMapper.listToResponseDTO(investments, wallet);
+        List<InvestmentResponseDTO> investmentsResponseDTO = InvestmentMapper.listToResponseDTO(investments);
         return ResponseEntity.ok().body(investmentsResponseDTO);
     }
 
     @GetMapping("/history/filterByDate")
     public ResponseEntity<List<InvestmentResponseDTO>> filterHistoryByDate(@RequestParam LocalDate initialDate, @RequestParam LocalDate finalDate) {
         UUID userId = authenticationInfoService.getAuthenticatedUserId();
-        Wallet wallet = walletService.getWallet(userId);
-
         List<Investment> investments = walletService.filterHistory(userId, initialDate, finalDate);
-        List<InvestmentResponseDTO> investmentsResponseDTO = InvestmentMapper.listToResponseDTO(investments, wallet);
+        List<InvestmentResponseDTO> investmentsResponseDTO = InvestmentMapper.listToResponseDTO(investments);
         return ResponseEntity.ok().body(investmentsResponseDTO);
     }
 
     @GetMapping("/investment/filterByType/{type}")
     public ResponseEntity<List<InvestmentResponseDTO>> filterActiveInvestmentsByType(@PathVariable AssetType type) {
         UUID userId = authenticationInfoService.getAuthenticatedUserId();
-        Wallet wallet = walletService.getWallet(userId);
-
         List<Investment> investments = walletService.filterActiveInvestments(userId, type);
-        List<InvestmentResponseDTO> investmentsResponseDTO = InvestmentMapper.listToResponseDTO(investments, wallet);
+        List<InvestmentResponseDTO> investmentsResponseDTO = InvestmentMapper.listToResponseDTO(investments);
 
         return ResponseEntity.ok().body(investmentsResponseDTO);
     }
@@ -144,33 +188,76 @@ public class WalletController {
     @GetMapping("/investment/filterByDate")
     public ResponseEntity<List<InvestmentResponseDTO>> filterActiveInvestmentsByDate(@RequestParam LocalDate initialDate, @RequestParam LocalDate finalDate) {
         UUID userId = authenticationInfoService.getAuthenticatedUserId();
-        Wallet wallet = walletService.getWallet(userId);
-
         List<Investment> investments = walletService.filterActiveInvestments(userId, initialDate, finalDate);
-        List<InvestmentResponseDTO> investmentsResponseDTO = InvestmentMapper.listToResponseDTO(investments, wallet);
+        List<InvestmentResponseDTO> investmentsResponseDTO = InvestmentMapper.listToResponseDTO(investments);
         return ResponseEntity.ok().body(investmentsResponseDTO);
     }
 
     @GetMapping("/investment")
     public ResponseEntity<List<InvestmentResponseDTO>> getInvestments() {
         UUID userId = authenticationInfoService.getAuthenticatedUserId();
-        Wallet wallet = walletService.getWallet(userId);
-
         List<Investment> investments = walletService.getInvestments(userId);
-        List<InvestmentResponseDTO> investmentsResponseDTO = InvestmentMapper.listToResponseDTO(investments, wallet);
+        List<InvestmentResponseDTO> investmentsResponseDTO = InvestmentMapper.listToResponseDTO(investments);
         return ResponseEntity.ok().body(investmentsResponseDTO);
     }
 
     @GetMapping("/history")
     public ResponseEntity<List<InvestmentResponseDTO>> getHistoryInvestments(){
         UUID userId = authenticationInfoService.getAuthenticatedUserId();
-        Wallet wallet = walletService.getWallet(userId);
-
         List<Investment> investments = walletService.getHistoryInvestments(userId);
-        List<InvestmentResponseDTO> investmentsResponseDTO = InvestmentMapper.listToResponseDTO(investments, wallet);
+        List<InvestmentResponseDTO> investmentsResponseDTO = InvestmentMapper.listToResponseDTO(investments);
         return ResponseEntity.ok().body(investmentsResponseDTO);
     }
 
+    @GetMapping("/investment/page")
+    public ResponseEntity<InvestmentPageResponseDTO> getInvestmentsPage(@RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = "50") int size,
+                                                                        @RequestParam(required = false) AssetType type,
+                                                                        @RequestParam(required = false) LocalDate initialDate,
+                                                                        @RequestParam(required = false) LocalDate finalDate) {
+        UUID userId = authenticationInfoService.getAuthenticatedUserId();
+        InvestmentPage page = walletService.getInvestmentsPage(userId,
+                new InvestmentFilter(type, initialDate, finalDate), decodeCursor(cursor), size);
+        return ResponseEntity.ok().body(InvestmentMapper.toPageResponseDTO(page));
+    }
+
+    @GetMapping("/history/page")
+    public ResponseEntity<InvestmentPageResponseDTO> getHistoryPage(@RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "50") int size,
+                                                                    @RequestParam(required = false) AssetType type,
+                                                                    @RequestParam(required = false) LocalDate initialDate,
+                                                                    @RequestParam(required = false) LocalDate finalDate) {
+        UUID userId = authenticationInfoService.getAuthenticatedUserId();
+        InvestmentPage page = walletService.getHistoryPage(userId,
+                new InvestmentFilter(type, initialDate, finalDate), decodeCursor(cursor), size);
+        return ResponseEntity.ok().body(InvestmentMapper.toPageResponseDTO(page));
+    }
+
+    private static InvestmentCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : InvestmentCursor.decode(cursor);
+    }
+
+    @GetMapping(value = "/investment/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamInvestments() {
+        UUID userId = authenticationInfoService.getAuthenticatedUserId();
+        investmentExportService.requireWallet(userId);
+
+        return streamNdjson(output -> investmentExportService.forEachInvestment(userId, output));
+    }
+
+    @GetMapping(value = "/history/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamHistoryInvestments() {
+        UUID userId = authenticationInfoService.getAuthenticatedUserId();
+        investmentExportService.requireWallet(userId);
+
+        return streamNdjson(output -> investmentExportService.forEachHistoryInvestment(userId, output));
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamNdjson(Consumer<Consumer<Investment>> source) {
+        StreamingResponseBody body = outputStream -> investmentNdjsonCodec.write(outputStream, source);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/totalBalance")
     public ResponseEntity<Double> getTotalBalance(){
         UUID userId = authenticationInfoService.getAuthenticatedUserId();
@@ -186,4 +273,14 @@ public class WalletController {
 
         return ResponseEntity.ok().body(balance);
     }
+
+    @GetMapping("/projection")
+    public ResponseEntity<BalanceProjectionResponseDTO> getBalanceProjection(@RequestParam LocalDate from,
+                                                                             @RequestParam LocalDate to,
+                                                                             @RequestParam(defaultValue = "30") int step) {
+        UUID userId = authenticationInfoService.getAuthenticatedUserId();
+        BalanceProjection projection = walletService.getBalanceProjection(userId, from, to, step);
+
+        return ResponseEntity.ok().body(WalletMapper.toProjectionResponseDTO(projection));
+    }
 }
@@ -0,0 +1,57 @@
+package br.ifsp.demo.domain;
+
+import br.ifsp.demo.util.EffectiveWithdrawDateResolver;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Current balance of active investments kept as one {@link DiscountedBalance} per asset, so reading it costs one
+ * {@code Math.pow} per asset instead of one per investment. Each asset is rounded to cents once, so the balance
+ * may differ from the sum of {@link Investment#calculateCurrentBalanceInCents()} by half a cent per investment.
+ * Instances can also be fed one investment at a time, e.g. while streaming investments from the database.
+ */
+public final class ActiveBalanceAccumulator {
+    private final Map<GroupKey, DiscountedBalance> groups = new HashMap<>();
+
+    public ActiveBalanceAccumulator() {
+    }
+
+    ActiveBalanceAccumulator(Collection<Investment> investments) {
+        for (Investment investment : investments) {
+            if (!investment.isWithdrawn()) add(investment);
+        }
+    }
+
+    public void add(Investment investment) {
+        groups.computeIfAbsent(GroupKey.of(investment), key -> new DiscountedBalance()).add(investment);
+    }
+
+    void remove(Investment investment) {
+        GroupKey key = GroupKey.of(investment);
+        DiscountedBalance group = groups.get(key);
+        if (group == null) return;
+        group.remove(investment);
+        if (group.isEmpty()) groups.remove(key);
+    }
+
+    public long balanceInCents() {
+        long total = 0;
+        for (Map.Entry<GroupKey, DiscountedBalance> entry : groups.entrySet()) {
+            GroupKey key = entry.getKey();
+            total += entry.getValue().balanceInCents(key.asset().getGrowthFactor(), key.dateResolver().resolve(null));
+        }
+        return total;
+    }
+
+    int groupCount() {
+        return groups.size();
+    }
+
+    private record GroupKey(Asset asset, EffectiveWithdrawDateResolver dateResolver) {
+        static GroupKey of(Investment investment) {
+            return new GroupKey(investment.getAsset(), investment.getDateResolver());
+        }
+    }
+}
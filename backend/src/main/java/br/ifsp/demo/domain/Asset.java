@@ -1,5 +1,6 @@
 package br.ifsp.demo.domain;
 
+import br.ifsp.demo.util.CompoundInterestCalculator;
 import br.ifsp.demo.util.DateFormatter;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -7,6 +8,7 @@ import org.hibernate.annotations.JdbcTypeCode;
 
 import java.sql.Types;
 import java.time.LocalDate;
+import java.util.Objects;
 import java.util.UUID;
 
 @Entity
@@ -23,6 +25,8 @@ public class Asset {
     private double profitability;
     @Column(name = "maturity_date")
     private LocalDate maturityDate;
+    @Transient
+    private volatile double growthFactor;
 
     public Asset(String name, AssetType assetType, double profitability, LocalDate maturityDate) {
         verifyAsset(name, assetType, profitability, maturityDate);
@@ -37,6 +41,20 @@ public class Asset {
         this.id = UUID.randomUUID();
     }
 
+    /**
+     * Rebuilds an asset that is already stored. Like a JPA load it skips the checks applied to new assets, since
+     * seeded assets such as low yield LCA and CRA titles predate them.
+     */
+    public static Asset restore(UUID id, String name, AssetType assetType, double profitability, LocalDate maturityDate) {
+        Asset asset = new Asset();
+        asset.id = Objects.requireNonNull(id, "Asset id cannot be null");
+        asset.name = name;
+        asset.assetType = assetType;
+        asset.profitability = profitability;
+        asset.maturityDate = maturityDate;
+        return asset;
+    }
+
     private void verifyAsset(String name, AssetType assetType, double profitability, LocalDate maturityDate){
         if (name == null || name.isBlank()) throw new IllegalArgumentException("Asset name cannot be null or blank");
         if (assetType == null) throw new IllegalArgumentException("Asset type cannot be null");
@@ -45,6 +63,27 @@ public class Asset {
         if (maturityDate == null) throw new IllegalArgumentException("Asset maturity date cannot be null");
     }
 
+    public double getGrowthFactor() {
+        double factor = growthFactor;
+        if (factor == 0) {
+            factor = CompoundInterestCalculator.growthFactor(profitability);
+            growthFactor = factor;
+        }
+        return factor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        Asset asset = (Asset) o;
+        return Objects.equals(id, asset.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+
     @Override
     public String toString() {
         return "Asset name = "
@@ -0,0 +1,80 @@
+package br.ifsp.demo.domain;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+public final class AssetAllocation {
+    private static final AssetType[] TYPES = AssetType.values();
+
+    private final long[] countByType = new long[TYPES.length];
+    private final long[] balanceInCentsByType = new long[TYPES.length];
+    private long totalCount;
+    private long totalBalanceInCents;
+
+    private AssetAllocation() {
+    }
+
+    public static AssetAllocation byCount(Collection<Investment> investments) {
+        Objects.requireNonNull(investments, "Investment storage cannot be null");
+        AssetAllocation allocation = new AssetAllocation();
+        for (Investment investment : investments) {
+            allocation.countByType[investment.getAsset().getAssetType().ordinal()]++;
+        }
+        allocation.totalCount = investments.size();
+        return allocation;
+    }
+
+    public static AssetAllocation byCountAndBalance(Collection<Investment> investments) {
+        Objects.requireNonNull(investments, "Investment storage cannot be null");
+        AssetAllocation allocation = new AssetAllocation();
+        for (Investment investment : investments) {
+            int type = investment.getAsset().getAssetType().ordinal();
+            long balance = investment.calculateCurrentBalanceInCents();
+            allocation.countByType[type]++;
+            allocation.balanceInCentsByType[type] += balance;
+            allocation.totalBalanceInCents += balance;
+        }
+        allocation.totalCount = investments.size();
+        return allocation;
+    }
+
+    static AssetAllocation ofCounts(ToLongFunction<AssetType> countOf) {
+        AssetAllocation allocation = new AssetAllocation();
+        for (AssetType type : TYPES) {
+            long count = countOf.applyAsLong(type);
+            allocation.countByType[type.ordinal()] = count;
+            allocation.totalCount += count;
+        }
+        return allocation;
+    }
+
+    public long getCount(AssetType type) {
+        return countByType[type.ordinal()];
+    }
+
+    public long getBalanceInCents(AssetType type) {
+        return balanceInCentsByType[type.ordinal()];
+    }
+
+    public Map<AssetType, Double> countPercentages() {
+        return percentages(countByType, totalCount);
+    }
+
+    public Map<AssetType, Double> balancePercentages() {
+        return percentages(balanceInCentsByType, totalBalanceInCents);
+    }
+
+    private static Map<AssetType, Double> percentages(long[] amountByType, long total) {
+        if (total == 0) return Collections.emptyMap();
+        double totalAmount = total;
+        Map<AssetType, Double> percentages = new EnumMap<>(AssetType.class);
+        for (AssetType type : TYPES) {
+            percentages.put(type, (amountByType[type.ordinal()] / totalAmount) * 100.0);
+        }
+        return Collections.unmodifiableMap(percentages);
+    }
+}
@@ -0,0 +1,22 @@
+package br.ifsp.demo.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+record AssetTypeCount(
+        @Column(name = "active_count", nullable = false) long active,
+        @Column(name = "withdrawn_count", nullable = false) long withdrawn
+) {
+    static final AssetTypeCount ZERO = new AssetTypeCount(0, 0);
+
+    AssetTypeCount plus(boolean withdrawnInvestment, int sign) {
+        return withdrawnInvestment
+                ? new AssetTypeCount(active, withdrawn + sign)
+                : new AssetTypeCount(active + sign, withdrawn);
+    }
+
+    boolean isEmpty() {
+        return active == 0 && withdrawn == 0;
+    }
+}
@@ -0,0 +1,113 @@
+package br.ifsp.demo.domain;
+
+import br.ifsp.demo.util.CompensatedSum;
+import br.ifsp.demo.util.CompoundInterestCalculator;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Wallet balance evaluated on the grid {@code from, from + step, ...} up to {@code to}.
+ * Each investment grows from its purchase date and stops at the earlier of its withdraw date and the asset
+ * maturity date, keeping that value afterwards. Along the grid a value is advanced by multiplying a per-step
+ * factor, so every investment costs two {@code Math.pow} calls regardless of the number of points.
+ * Points are accumulated with compensated summation in parallel primitive arrays, so the total of many
+ * investments does not drift before it is rounded to cents.
+ */
+public final class BalanceProjection {
+    public static final int MAX_POINTS = 1000;
+
+    private final LocalDate from;
+    private final int stepDays;
+    private final double[] balances;
+
+    private BalanceProjection(LocalDate from, int stepDays, double[] balances) {
+        this.from = from;
+        this.stepDays = stepDays;
+        this.balances = balances;
+    }
+
+    public static BalanceProjection of(Collection<Investment> investments, LocalDate from, LocalDate to, int stepDays) {
+        Objects.requireNonNull(investments, "Investment storage cannot be null");
+        Objects.requireNonNull(from, "Projection start date cannot be null");
+        Objects.requireNonNull(to, "Projection end date cannot be null");
+        if (stepDays < 1) throw new IllegalArgumentException("Projection step must be greater than zero");
+        if (to.isBefore(from)) throw new IllegalArgumentException("Projection end date cannot be before start date");
+        long points = ChronoUnit.DAYS.between(from, to) / stepDays + 1;
+        if (points > MAX_POINTS)
+            throw new IllegalArgumentException("Projection cannot have more than " + MAX_POINTS + " points");
+
+        int size = (int) points;
+        double[] growing = new double[size];
+        double[] growingCompensation = new double[size];
+        double[] frozenDelta = new double[size + 1];
+        double[] frozenDeltaCompensation = new double[size + 1];
+        Map<Asset, Double> stepFactors = new HashMap<>();
+
+        for (Investment investment : investments) {
+            Asset asset = investment.getAsset();
+            long purchase = ChronoUnit.DAYS.between(from, investment.getPurchaseDate());
+            long freeze = Math.max(purchase, ChronoUnit.DAYS.between(from, freezeDateOf(investment)));
+            long first = Math.ceilDiv(Math.max(purchase, 0), stepDays);
+            if (first >= size) continue;
+            long last = Math.min(size - 1, Math.floorDiv(freeze, stepDays));
+
+            double growthFactor = asset.getGrowthFactor();
+            if (last >= first) {
+                double stepFactor = stepFactors.computeIfAbsent(asset,
+                        key -> Math.pow(growthFactor, CompoundInterestCalculator.periods(stepDays)));
+                double value = valueAfter(investment, first * stepDays - purchase);
+                for (int point = (int) first; point <= last; point++) {
+                    CompensatedSum.add(growing, growingCompensation, point, value);
+                    value *= stepFactor;
+                }
+            }
+            if (last + 1 < size) {
+                int frozenFrom = (int) Math.max(last + 1, first);
+                CompensatedSum.add(frozenDelta, frozenDeltaCompensation, frozenFrom, valueAfter(investment, freeze - purchase));
+            }
+        }
+
+        CompensatedSum frozen = new CompensatedSum();
+        double[] balances = new double[size];
+        for (int point = 0; point < size; point++) {
+            frozen.add(frozenDelta[point]);
+            frozen.add(frozenDeltaCompensation[point]);
+            double balance = growing[point] + growingCompensation[point] + frozen.value();
+            balances[point] = Math.round(balance * 100.0) / 100.0;
+        }
+        return new BalanceProjection(from, stepDays, balances);
+    }
+
+    private static LocalDate freezeDateOf(Investment investment) {
+        LocalDate maturityDate = investment.getAsset().getMaturityDate();
+        LocalDate withdrawDate = investment.getWithdrawDate();
+        return withdrawDate != null && withdrawDate.isBefore(maturityDate) ? withdrawDate : maturityDate;
+    }
+
+    private static double valueAfter(Investment investment, long days) {
+        return investment.getInitialValue()
+                * Math.pow(investment.getAsset().getGrowthFactor(), CompoundInterestCalculator.periods(days));
+    }
+
+    public int size() {
+        return balances.length;
+    }
+
+    public LocalDate dateAt(int point) {
+        Objects.checkIndex(point, balances.length);
+        return from.plusDays((long) point * stepDays);
+    }
+
+    public double balanceAt(int point) {
+        return balances[point];
+    }
+
+    public double[] balances() {
+        return balances.clone();
+    }
+}
@@ -0,0 +1,61 @@
+package br.ifsp.demo.domain;
+
+import br.ifsp.demo.util.CompoundInterestCalculator;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+/**
+ * Active investments of one asset folded into a single value discounted to an anchor date {@code A}:
+ * {@code S = sum(v_i * r^((A - p_i) / 30))}. Their balance at {@code D} is {@code r^((D - A) / 30) * S}, so valuing
+ * the asset costs one {@code Math.pow} whatever the number of investments. The anchor is the asset maturity date,
+ * which keeps the exponents small and the value independent of the order investments were added in.
+ * <p>
+ * The balance is rounded to cents once, while {@link Investment#calculateCurrentBalanceInCents()} rounds every
+ * investment, so the two differ by at most half a cent per investment.
+ */
+@Embeddable
+public class DiscountedBalance {
+    @Column(name = "anchor_date", nullable = false)
+    private LocalDate anchorDate;
+    @Column(name = "discounted_value", nullable = false)
+    private double discountedValue;
+    @Column(name = "active_count", nullable = false)
+    private long count;
+
+    void add(Investment investment) {
+        apply(investment, 1);
+    }
+
+    void remove(Investment investment) {
+        apply(investment, -1);
+    }
+
+    private void apply(Investment investment, int sign) {
+        Asset asset = investment.getAsset();
+        if (anchorDate == null)
+            anchorDate = Objects.requireNonNullElse(asset.getMaturityDate(), investment.getPurchaseDate());
+        long days = ChronoUnit.DAYS.between(investment.getPurchaseDate(), anchorDate);
+        discountedValue += sign * investment.getInitialValue()
+                * CompoundInterestCalculator.compound(asset.getGrowthFactor(), days);
+        count += sign;
+        if (count == 0) {
+            anchorDate = null;
+            discountedValue = 0;
+        }
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public long balanceInCents(double growthFactor, LocalDate valuationDate) {
+        if (isEmpty()) return 0;
+        long days = ChronoUnit.DAYS.between(anchorDate, valuationDate);
+        return CompoundInterestCalculator.balanceInCents(discountedValue,
+                CompoundInterestCalculator.compound(growthFactor, days));
+    }
+}
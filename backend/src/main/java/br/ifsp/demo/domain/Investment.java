@@ -1,13 +1,12 @@
 package br.ifsp.demo.domain;
 
+import br.ifsp.demo.util.CompoundInterestCalculator;
 import br.ifsp.demo.util.EffectiveWithdrawDateResolver;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.JdbcTypeCode;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.sql.Types;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
@@ -18,6 +17,8 @@ import java.util.UUID;
 @Getter
 @Setter
 public class Investment {
+    private static final EffectiveWithdrawDateResolver DEFAULT_DATE_RESOLVER = new EffectiveWithdrawDateResolver();
+
     @Id
     @JdbcTypeCode(Types.VARCHAR)
     private UUID id;
@@ -28,7 +29,6 @@ public class Investment {
     private Asset asset;
     @Column(name = "purchase_date")
     private LocalDate purchaseDate;
-    @Setter
     @Column(name = "withdraw_date")
     private LocalDate withdrawDate;
     @Setter
@@ -44,7 +44,7 @@ public class Investment {
         verifyInvestment(initialValue, asset, purchaseDate);
         this.initialValue = initialValue;
         this.asset = asset;
-        this.dateResolver = new EffectiveWithdrawDateResolver();
+        this.dateResolver = DEFAULT_DATE_RESOLVER;
     }
 
     Investment(double initialValue, Asset asset, LocalDate purchaseDate) {
@@ -53,7 +53,7 @@ public class Investment {
         this.initialValue = initialValue;
         this.asset = asset;
         this.purchaseDate = purchaseDate;
-        this.dateResolver = new EffectiveWithdrawDateResolver();
+        this.dateResolver = DEFAULT_DATE_RESOLVER;
     }
 
      Investment(double initialValue, Asset asset, LocalDate purchaseDate, EffectiveWithdrawDateResolver resolver) {
@@ -67,7 +67,7 @@ public class Investment {
 
     public Investment() {
         this.id = UUID.randomUUID();
-        this.dateResolver = new EffectiveWithdrawDateResolver();
+        this.dateResolver = DEFAULT_DATE_RESOLVER;
     }
 
     private void verifyInvestment(double initialValue, Asset asset, LocalDate purchaseDate){
@@ -81,22 +81,21 @@ public class Investment {
         return withdrawDate != null;
     }
 
-    private double calculateBalanceAt(LocalDate date) {
-        BigDecimal balance = BigDecimal.ZERO;
+    public void setWithdrawDate(LocalDate withdrawDate) {
+        LocalDate previousWithdrawDate = this.withdrawDate;
+        this.withdrawDate = withdrawDate;
+        if (wallet != null && !Objects.equals(previousWithdrawDate, withdrawDate))
+            wallet.onWithdrawDateChanged(this, previousWithdrawDate);
+    }
 
+    private double calculateBalanceAt(LocalDate date) {
         long days = ChronoUnit.DAYS.between(this.purchaseDate, date);
-        BigDecimal time = BigDecimal.valueOf(days)
-                .divide(BigDecimal.valueOf(30.0), 10, RoundingMode.HALF_UP);
-
-        BigDecimal initialValue = BigDecimal.valueOf(this.initialValue);
-        BigDecimal profitability = BigDecimal.valueOf(this.asset.getProfitability()).add(BigDecimal.ONE);
-        BigDecimal compound = BigDecimal.valueOf(
-                Math.pow(profitability.doubleValue(), time.doubleValue())
-        );
+        return CompoundInterestCalculator.balance(initialValue, asset.getGrowthFactor(), days);
+    }
 
-        BigDecimal finalValue = initialValue.multiply(compound);
-        balance = balance.add(finalValue);
-        return balance.setScale(2, RoundingMode.HALF_UP).doubleValue();
+    private long calculateBalanceInCentsAt(LocalDate date) {
+        long days = ChronoUnit.DAYS.between(this.purchaseDate, date);
+        return CompoundInterestCalculator.balanceInCents(initialValue, asset.getGrowthFactor(), days);
     }
 
     public double calculateCurrentBalance() {
@@ -107,6 +106,18 @@ public class Investment {
         return calculateBalanceAt(asset.getMaturityDate());
     }
 
+    public long calculateCurrentBalanceInCents() {
+        return calculateBalanceInCentsWithdrawnAt(withdrawDate);
+    }
+
+    long calculateBalanceInCentsWithdrawnAt(LocalDate withdrawDate) {
+        return calculateBalanceInCentsAt(dateResolver.resolve(withdrawDate));
+    }
+
+    public long calculateFutureBalanceInCents() {
+        return calculateBalanceInCentsAt(asset.getMaturityDate());
+    }
+
     @Override
     public String toString() {
         return "Initial value = R$ " + String.format("%.2f", initialValue) + " | " + asset.toString();
@@ -0,0 +1,40 @@
+package br.ifsp.demo.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+public record InvestmentCursor(LocalDate purchaseDate, UUID id) {
+    private static final String SEPARATOR = "|";
+
+    public InvestmentCursor {
+        Objects.requireNonNull(purchaseDate, "Cursor purchase date cannot be null");
+        Objects.requireNonNull(id, "Cursor id cannot be null");
+    }
+
+    public static InvestmentCursor of(Investment investment) {
+        return new InvestmentCursor(investment.getPurchaseDate(), investment.getId());
+    }
+
+    public static InvestmentCursor decode(String token) {
+        Objects.requireNonNull(token, "Cursor cannot be null");
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) throw new IllegalArgumentException("Invalid cursor: " + token);
+            return new InvestmentCursor(
+                    LocalDate.parse(value.substring(0, separator)),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String value = purchaseDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
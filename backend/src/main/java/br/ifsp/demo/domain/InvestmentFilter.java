@@ -0,0 +1,12 @@
+package br.ifsp.demo.domain;
+
+import java.time.LocalDate;
+
+public record InvestmentFilter(AssetType assetType, LocalDate initialDate, LocalDate finalDate) {
+    public static final InvestmentFilter NONE = new InvestmentFilter(null, null, null);
+
+    public InvestmentFilter {
+        if ((initialDate == null) != (finalDate == null))
+            throw new IllegalArgumentException("initialDate and finalDate must be informed together");
+    }
+}
@@ -0,0 +1,63 @@
+package br.ifsp.demo.domain;
+
+import java.util.*;
+
+class InvestmentIndex {
+    private final Map<UUID, Investment> byId = new HashMap<>();
+    private final Set<Investment> active = new LinkedHashSet<>();
+    private final Set<Investment> history = new LinkedHashSet<>();
+    private List<Investment> activeView;
+    private List<Investment> historyView;
+
+    InvestmentIndex(Collection<Investment> investments) {
+        investments.forEach(this::add);
+    }
+
+    boolean contains(UUID investmentId) {
+        return byId.containsKey(investmentId);
+    }
+
+    Investment get(UUID investmentId) {
+        return byId.get(investmentId);
+    }
+
+    void add(Investment investment) {
+        byId.put(investment.getId(), investment);
+        if (investment.isWithdrawn()) {
+            history.add(investment);
+            historyView = null;
+        } else {
+            active.add(investment);
+            activeView = null;
+        }
+    }
+
+    void remove(Investment investment) {
+        if (byId.remove(investment.getId()) == null) return;
+        if (active.remove(investment)) activeView = null;
+        else if (history.remove(investment)) historyView = null;
+    }
+
+    void onWithdrawStatusChanged(Investment investment) {
+        if (!byId.containsKey(investment.getId())) return;
+        if (investment.isWithdrawn() && active.remove(investment)) {
+            history.add(investment);
+        } else if (!investment.isWithdrawn() && history.remove(investment)) {
+            active.add(investment);
+        } else {
+            return;
+        }
+        activeView = null;
+        historyView = null;
+    }
+
+    List<Investment> active() {
+        if (activeView == null) activeView = List.copyOf(active);
+        return activeView;
+    }
+
+    List<Investment> history() {
+        if (historyView == null) historyView = List.copyOf(history);
+        return historyView;
+    }
+}
@@ -0,0 +1,22 @@
+package br.ifsp.demo.domain;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+public record InvestmentPage(List<Investment> investments, InvestmentCursor nextCursor) {
+    public InvestmentPage {
+        Objects.requireNonNull(investments, "Investments cannot be null");
+        investments = List.copyOf(investments);
+    }
+
+    public static InvestmentPage of(List<Investment> fetched, int size) {
+        if (fetched.size() <= size) return new InvestmentPage(fetched, null);
+        List<Investment> investments = fetched.subList(0, size);
+        return new InvestmentPage(investments, InvestmentCursor.of(investments.getLast()));
+    }
+
+    public Optional<InvestmentCursor> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+}
@@ -3,8 +3,10 @@ package br.ifsp.demo.domain;
 import br.ifsp.demo.exception.EntityAlreadyExistsException;
 import br.ifsp.demo.security.user.User;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.Hibernate;
 import org.hibernate.annotations.JdbcTypeCode;
 
 import java.sql.Types;
@@ -24,41 +26,98 @@ public class Wallet {
     @JoinColumn(name = "user_id", nullable = false, unique = true,
             foreignKey = @ForeignKey(name = "fk_wallet_user"))
     private User user;
+    @OneToOne(mappedBy = "wallet", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Getter(AccessLevel.NONE)
+    private WalletSummary summary;
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private InvestmentIndex index;
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private ActiveBalanceAccumulator activeBalance;
 
     public Wallet() {
         id = UUID.randomUUID();
         investments = new LinkedHashSet<>();
+        summary = new WalletSummary(this);
     }
 
     public void addInvestment(Investment investment) {
         Objects.requireNonNull(investment, "Investment cannot be null");
-        if (investments.contains(investment))
+        InvestmentIndex index = index();
+        WalletSummary summary = getSummary();
+        ActiveBalanceAccumulator activeBalance = activeBalance();
+        if (index.contains(investment.getId()))
             throw new EntityAlreadyExistsException("Investment already exists in the wallet: " + investment.getId());
         investments.add(investment);
+        investment.setWallet(this);
+        index.add(investment);
+        summary.add(investment);
+        if (!investment.isWithdrawn()) activeBalance.add(investment);
     }
 
-    public void removeInvestment(Investment investment) {
+    /**
+     * Adds an investment that the caller persists on its own. While the investment set is still lazy it is left
+     * unloaded and only the summary is updated, so the caller must rule out duplicates.
+     */
+    public void appendInvestment(Investment investment) {
         Objects.requireNonNull(investment, "Investment cannot be null");
-        investments.remove(investment);
+        if (Hibernate.isInitialized(investments)) {
+            addInvestment(investment);
+            return;
+        }
+        investment.setWallet(this);
+        getSummary().add(investment);
     }
 
-    public double getTotalBalance() {
-        double total = 0.0;
-        for (Investment investment : getHistoryInvestments()){
-            total += investment.calculateCurrentBalance();
+    public void removeInvestment(Investment investment) {
+        Objects.requireNonNull(investment, "Investment cannot be null");
+        InvestmentIndex index = index();
+        WalletSummary summary = getSummary();
+        ActiveBalanceAccumulator activeBalance = activeBalance();
+        if (investments.remove(investment)) {
+            index.remove(investment);
+            summary.remove(investment);
+            if (!investment.isWithdrawn()) activeBalance.remove(investment);
         }
-        for (Investment investment : getInvestments()) {
-            total += investment.calculateCurrentBalance();
+    }
+
+    void onWithdrawDateChanged(Investment investment, LocalDate previousWithdrawDate) {
+        if ((previousWithdrawDate != null) != investment.isWithdrawn()) {
+            if (index != null) index.onWithdrawStatusChanged(investment);
+            if (activeBalance != null) {
+                if (investment.isWithdrawn()) activeBalance.remove(investment);
+                else activeBalance.add(investment);
+            }
         }
-        return total;
+        if (summary != null) summary.onWithdrawDateChanged(investment, previousWithdrawDate);
+    }
+
+    private InvestmentIndex index() {
+        if (index == null) index = new InvestmentIndex(investments);
+        return index;
+    }
+
+    private ActiveBalanceAccumulator activeBalance() {
+        if (activeBalance == null) activeBalance = new ActiveBalanceAccumulator(investments);
+        return activeBalance;
+    }
+
+    public WalletSummary getSummary() {
+        if (summary == null) summary = WalletSummary.of(this, investments);
+        return summary;
+    }
+
+    public double getTotalBalance() {
+        return (getSummary().getRealizedBalanceInCents() + activeBalance().balanceInCents()) / 100.0;
     }
 
     public double getFutureBalance() {
-        double futureBalance = 0.0;
-        for (Investment investment : getInvestments()) {
-            futureBalance += investment.calculateFutureBalance();
-        }
-        return futureBalance;
+        return getSummary().getFutureBalanceInCents() / 100.0;
+    }
+
+    public BalanceProjection getBalanceProjection(LocalDate from, LocalDate to, int stepDays) {
+        return BalanceProjection.of(investments, from, to, stepDays);
     }
 
     @Override
@@ -74,32 +133,27 @@ public class Wallet {
     }
 
     public List<Investment> getInvestments() {
-        return investments.stream().filter(investment -> !investment.isWithdrawn()).toList();
+        return index().active();
     }
 
     public List<Investment> getHistoryInvestments() {
-        return investments.stream().filter(Investment::isWithdrawn).toList();
+        return index().history();
     }
 
     public Optional<Investment> getInvestmentById(UUID investmentId) {
         Objects.requireNonNull(investmentId, "Investment id cannot be null");
-        return investments.stream()
-                .filter(investment -> investment.getId().equals(investmentId))
-                .findFirst();
+        return Optional.ofNullable(index().get(investmentId));
     }
 
     public Map<AssetType, Double> filterInvestmentsByTypeAndPercentage(List<Investment> investmentStorage) {
-        Objects.requireNonNull(investmentStorage, "Investment storage cannot be null");
-        double totalStorage = investmentStorage.size();
-        if (totalStorage == 0) return Collections.emptyMap();
-
-        Map<AssetType, Double> typesCount = new LinkedHashMap<>();
-        AssetType[] types = AssetType.values();
-        Arrays.stream(types).forEach(type -> {
-            long totalByType = investmentStorage.stream().filter(investment -> investment.getAsset().getAssetType() == type).count();
-            Double percentage = ((totalByType / totalStorage) * 100.0);
-            typesCount.put(type, percentage);
-        });
-        return Collections.unmodifiableMap(typesCount);
+        return AssetAllocation.byCount(investmentStorage).countPercentages();
+    }
+
+    public Map<AssetType, Double> filterInvestmentsByTypeAndBalancePercentage(List<Investment> investmentStorage) {
+        return AssetAllocation.byCountAndBalance(investmentStorage).balancePercentages();
+    }
+
+    public AssetAllocation getAllocation(List<Investment> investmentStorage) {
+        return AssetAllocation.byCountAndBalance(investmentStorage);
     }
 }
@@ -0,0 +1,139 @@
+package br.ifsp.demo.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.MapKeyJdbcTypeCode;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+@Entity
+@Table(name = "wallet_summary")
+@Getter
+public class WalletSummary {
+    @Id
+    @JdbcTypeCode(Types.VARCHAR)
+    @Column(name = "wallet_id")
+    private UUID walletId;
+    @MapsId
+    @OneToOne(optional = false)
+    @JoinColumn(name = "wallet_id")
+    @Getter(AccessLevel.NONE)
+    private Wallet wallet;
+    @Column(name = "future_balance_cents", nullable = false)
+    private long futureBalanceInCents;
+    @Column(name = "realized_balance_cents", nullable = false)
+    private long realizedBalanceInCents;
+    @ElementCollection
+    @CollectionTable(name = "wallet_summary_asset_type", joinColumns = @JoinColumn(name = "wallet_id"))
+    @MapKeyEnumerated(EnumType.STRING)
+    @MapKeyColumn(name = "asset_type")
+    @Getter(AccessLevel.NONE)
+    private Map<AssetType, AssetTypeCount> countsByType = new EnumMap<>(AssetType.class);
+    @ElementCollection
+    @CollectionTable(name = "wallet_summary_asset", joinColumns = @JoinColumn(name = "wallet_id"))
+    @MapKeyColumn(name = "asset_id")
+    @MapKeyJdbcTypeCode(Types.VARCHAR)
+    @Getter(AccessLevel.NONE)
+    private Map<UUID, DiscountedBalance> activeByAsset = new HashMap<>();
+
+    protected WalletSummary() {
+    }
+
+    /**
+     * The id is left unset so {@link MapsId} derives it from the wallet on persist; a preset id would make a merge
+     * look for a stored summary and fail for a new wallet.
+     */
+    WalletSummary(Wallet wallet) {
+        this.wallet = wallet;
+    }
+
+    static WalletSummary of(Wallet wallet, Collection<Investment> investments) {
+        WalletSummary summary = new WalletSummary(wallet);
+        investments.forEach(summary::add);
+        return summary;
+    }
+
+    void add(Investment investment) {
+        apply(investment, investment.getWithdrawDate(), 1);
+    }
+
+    void remove(Investment investment) {
+        apply(investment, investment.getWithdrawDate(), -1);
+    }
+
+    void onWithdrawDateChanged(Investment investment, LocalDate previousWithdrawDate) {
+        apply(investment, previousWithdrawDate, -1);
+        apply(investment, investment.getWithdrawDate(), 1);
+    }
+
+    private void apply(Investment investment, LocalDate withdrawDate, int sign) {
+        AssetType type = investment.getAsset().getAssetType();
+        boolean withdrawn = withdrawDate != null;
+        if (withdrawn) realizedBalanceInCents += sign * investment.calculateBalanceInCentsWithdrawnAt(withdrawDate);
+        else {
+            futureBalanceInCents += sign * investment.calculateFutureBalanceInCents();
+            applyActive(investment, sign);
+        }
+
+        AssetTypeCount count = countsByType.getOrDefault(type, AssetTypeCount.ZERO).plus(withdrawn, sign);
+        if (count.isEmpty()) countsByType.remove(type);
+        else countsByType.put(type, count);
+    }
+
+    private void applyActive(Investment investment, int sign) {
+        UUID assetId = investment.getAsset().getId();
+        if (sign > 0) {
+            activeByAsset.computeIfAbsent(assetId, id -> new DiscountedBalance()).add(investment);
+            return;
+        }
+        DiscountedBalance balance = activeByAsset.get(assetId);
+        if (balance == null) return;
+        balance.remove(investment);
+        if (balance.isEmpty()) activeByAsset.remove(assetId);
+    }
+
+    public Set<UUID> getActiveAssetIds() {
+        return Collections.unmodifiableSet(activeByAsset.keySet());
+    }
+
+    /**
+     * Current balance of the active investments from the per asset {@link DiscountedBalance}s, without loading the
+     * investments. {@code assets} must hold every id of {@link #getActiveAssetIds()}.
+     */
+    public long getActiveBalanceInCents(Map<UUID, Asset> assets, LocalDate valuationDate) {
+        long cents = 0;
+        for (Map.Entry<UUID, DiscountedBalance> entry : activeByAsset.entrySet()) {
+            Asset asset = assets.get(entry.getKey());
+            if (asset == null) throw new NoSuchElementException("Asset not found: " + entry.getKey());
+            cents += entry.getValue().balanceInCents(asset.getGrowthFactor(), valuationDate);
+        }
+        return cents;
+    }
+
+    public long getActiveCount(AssetType type) {
+        return countsByType.getOrDefault(type, AssetTypeCount.ZERO).active();
+    }
+
+    public long getWithdrawnCount(AssetType type) {
+        return countsByType.getOrDefault(type, AssetTypeCount.ZERO).withdrawn();
+    }
+
+    public AssetAllocation getActiveAllocation() {
+        return AssetAllocation.ofCounts(this::getActiveCount);
+    }
+
+    public AssetAllocation getHistoryAllocation() {
+        return AssetAllocation.ofCounts(this::getWithdrawnCount);
+    }
+}
@@ -0,0 +1,11 @@
+package br.ifsp.demo.dto.investment;
+
+import java.util.List;
+import java.util.UUID;
+
+public record InvestmentBatchItemResponseDTO(
+        int index,
+        String status,
+        UUID investmentId,
+        List<String> errors) {
+}
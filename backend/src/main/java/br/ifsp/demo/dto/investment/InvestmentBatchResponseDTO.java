@@ -0,0 +1,9 @@
+package br.ifsp.demo.dto.investment;
+
+import java.util.List;
+
+public record InvestmentBatchResponseDTO(
+        int created,
+        int rejected,
+        List<InvestmentBatchItemResponseDTO> items) {
+}
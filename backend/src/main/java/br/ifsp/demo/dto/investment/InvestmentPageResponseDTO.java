@@ -0,0 +1,9 @@
+package br.ifsp.demo.dto.investment;
+
+import java.util.List;
+
+public record InvestmentPageResponseDTO(
+        List<InvestmentResponseDTO> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,22 @@
+package br.ifsp.demo.dto.report;
+
+import br.ifsp.demo.service.ReportJobStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ReportJobResponseDTO(
+        UUID id,
+        ReportJobStatus status,
+        String format,
+        boolean allUsers,
+        long total,
+        long completed,
+        long skipped,
+        long failed,
+        double progress,
+        double throughputPerSecond,
+        Instant createdAt,
+        Instant startedAt,
+        Instant finishedAt) {
+}
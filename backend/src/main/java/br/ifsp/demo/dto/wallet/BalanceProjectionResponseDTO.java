@@ -0,0 +1,9 @@
+package br.ifsp.demo.dto.wallet;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record BalanceProjectionResponseDTO(
+        List<LocalDate> dates,
+        double[] balances) {
+}
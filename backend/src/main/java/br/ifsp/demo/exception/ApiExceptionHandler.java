@@ -11,6 +11,7 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 import static org.springframework.http.HttpStatus.*;
@@ -126,4 +127,18 @@ public class ApiExceptionHandler {
 
         return new ResponseEntity<>(apiException, notFound);
     }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ApiException> handleRejectedExecutionException(RejectedExecutionException e) {
+        HttpStatus serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+
+        ApiException apiException = ApiException.builder()
+                .status(serviceUnavailable)
+                .message(e.getMessage())
+                .developerMessage(e.getClass().getName())
+                .timestamp(ZonedDateTime.now(ZoneId.of("Z")))
+                .build();
+
+        return new ResponseEntity<>(apiException, serviceUnavailable);
+    }
 }
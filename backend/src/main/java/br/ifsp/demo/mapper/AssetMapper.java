@@ -16,4 +16,8 @@ public class AssetMapper {
                         asset.getMaturityDate()))
                 .toList();
     }
+
+    public static Asset toEntity(AssetResponseDTO dto) {
+        return Asset.restore(dto.id(), dto.name(), dto.assetType(), dto.profitability(), dto.maturityDate());
+    }
 }
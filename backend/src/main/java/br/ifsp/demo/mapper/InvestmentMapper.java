@@ -1,8 +1,14 @@
 package br.ifsp.demo.mapper;
 
 import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.InvestmentCursor;
+import br.ifsp.demo.domain.InvestmentPage;
 import br.ifsp.demo.domain.Wallet;
+import br.ifsp.demo.dto.investment.InvestmentBatchItemResponseDTO;
+import br.ifsp.demo.dto.investment.InvestmentBatchResponseDTO;
+import br.ifsp.demo.dto.investment.InvestmentPageResponseDTO;
 import br.ifsp.demo.dto.investment.InvestmentResponseDTO;
+import br.ifsp.demo.service.InvestmentBatchResult;
 
 import java.util.List;
 
@@ -19,6 +25,12 @@ public class InvestmentMapper {
                 .toList();
     }
 
+    public static List<InvestmentResponseDTO> listToResponseDTO(List<Investment> investments) {
+        return investments.stream()
+                .map(InvestmentMapper::toResponseDTO)
+                .toList();
+    }
+
     public static InvestmentResponseDTO toResponseDTO(Investment investment) {
         return new InvestmentResponseDTO(
                 investment.getId(),
@@ -28,4 +40,22 @@ public class InvestmentMapper {
                 investment.getWithdrawDate(),
                 investment.getWallet().getId());
     }
+
+    public static InvestmentPageResponseDTO toPageResponseDTO(InvestmentPage page) {
+        return new InvestmentPageResponseDTO(
+                listToResponseDTO(page.investments()),
+                page.getNextCursor().map(InvestmentCursor::encode).orElse(null));
+    }
+
+    public static InvestmentBatchResponseDTO toBatchResponseDTO(List<InvestmentBatchResult> results) {
+        List<InvestmentBatchItemResponseDTO> items = results.stream()
+                .map(result -> new InvestmentBatchItemResponseDTO(
+                        result.index(),
+                        result.isCreated() ? "CREATED" : "REJECTED",
+                        result.investmentId(),
+                        result.errors()))
+                .toList();
+        int created = (int) results.stream().filter(InvestmentBatchResult::isCreated).count();
+        return new InvestmentBatchResponseDTO(created, results.size() - created, items);
+    }
 }
@@ -0,0 +1,25 @@
+package br.ifsp.demo.mapper;
+
+import br.ifsp.demo.dto.report.ReportJobResponseDTO;
+import br.ifsp.demo.service.ReportJob;
+
+import java.time.Instant;
+
+public class ReportJobMapper {
+    public static ReportJobResponseDTO toResponseDTO(ReportJob job) {
+        return new ReportJobResponseDTO(
+                job.getId(),
+                job.getStatus(),
+                job.getMediaType().toString(),
+                job.isForAllUsers(),
+                job.getTotal(),
+                job.getCompleted(),
+                job.getSkipped(),
+                job.getFailed(),
+                job.getProgress(),
+                job.getThroughputPerSecond(Instant.now()),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt());
+    }
+}
@@ -1,17 +1,33 @@
 package br.ifsp.demo.mapper;
 
+import br.ifsp.demo.domain.BalanceProjection;
 import br.ifsp.demo.domain.Investment;
 import br.ifsp.demo.domain.Wallet;
 import br.ifsp.demo.dto.investment.InvestmentResponseDTO;
+import br.ifsp.demo.dto.wallet.BalanceProjectionResponseDTO;
 import br.ifsp.demo.dto.wallet.WalletResponseDTO;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 public class WalletMapper {
+    public static WalletResponseDTO toResponseDTO(Wallet wallet) {
+        return toResponseDTO(wallet, wallet.getInvestments(), wallet.getHistoryInvestments());
+    }
+
     public static WalletResponseDTO toResponseDTO(Wallet wallet, List<Investment> investments, List<Investment> history) {
         List<InvestmentResponseDTO> investmentResponseDTOS = InvestmentMapper.listToResponseDTO(investments, wallet);
         List<InvestmentResponseDTO> historyResponseDTOS = InvestmentMapper.listToResponseDTO(history, wallet);
 
         return new WalletResponseDTO(wallet.getId(), investmentResponseDTOS, historyResponseDTOS);
     }
+
+    public static BalanceProjectionResponseDTO toProjectionResponseDTO(BalanceProjection projection) {
+        List<LocalDate> dates = new ArrayList<>(projection.size());
+        for (int point = 0; point < projection.size(); point++) {
+            dates.add(projection.dateAt(point));
+        }
+        return new BalanceProjectionResponseDTO(dates, projection.balances());
+    }
 }
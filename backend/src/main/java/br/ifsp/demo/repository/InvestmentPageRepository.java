@@ -0,0 +1,14 @@
+package br.ifsp.demo.repository;
+
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.InvestmentCursor;
+import br.ifsp.demo.domain.InvestmentFilter;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface InvestmentPageRepository {
+    List<Investment> findActivePage(UUID userId, InvestmentFilter filter, InvestmentCursor after, int limit);
+
+    List<Investment> findHistoryPage(UUID userId, InvestmentFilter filter, InvestmentCursor after, int limit);
+}
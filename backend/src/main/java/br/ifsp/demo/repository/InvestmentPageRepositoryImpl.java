@@ -0,0 +1,63 @@
+package br.ifsp.demo.repository;
+
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.InvestmentCursor;
+import br.ifsp.demo.domain.InvestmentFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds each keyset page query with only the predicates the request needs, so SQLite can seek on
+ * {@code idx_investment_wallet_purchase_date} instead of evaluating null catch-alls for every row.
+ */
+class InvestmentPageRepositoryImpl implements InvestmentPageRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Investment> findActivePage(UUID userId, InvestmentFilter filter, InvestmentCursor after, int limit) {
+        return findPage("i.withdrawDate is null", userId, filter, after, limit);
+    }
+
+    @Override
+    public List<Investment> findHistoryPage(UUID userId, InvestmentFilter filter, InvestmentCursor after, int limit) {
+        return findPage("i.withdrawDate is not null", userId, filter, after, limit);
+    }
+
+    private List<Investment> findPage(String status, UUID userId, InvestmentFilter filter, InvestmentCursor after,
+                                      int limit) {
+        TypedQuery<Investment> query = entityManager.createQuery(pageQuery(status, filter, after), Investment.class)
+                .setParameter("userId", userId)
+                .setMaxResults(limit);
+        if (filter.assetType() != null)
+            query.setParameter("assetType", filter.assetType());
+        if (filter.initialDate() != null)
+            query.setParameter("initialDate", filter.initialDate())
+                    .setParameter("finalDate", filter.finalDate());
+        if (after != null)
+            query.setParameter("afterDate", after.purchaseDate())
+                    .setParameter("afterId", after.id());
+        return query.getResultList();
+    }
+
+    static String pageQuery(String status, InvestmentFilter filter, InvestmentCursor after) {
+        StringBuilder query = new StringBuilder("""
+                select i from Investment i
+                join fetch i.asset a
+                join fetch i.wallet w
+                where w.user.id = :userId
+                  and\s""").append(status);
+        if (filter.assetType() != null)
+            query.append("\n  and a.assetType = :assetType");
+        if (filter.initialDate() != null)
+            query.append("\n  and i.purchaseDate between :initialDate and :finalDate");
+        // the leading range keeps the seek when the dialect expands the row value comparison into an or
+        if (after != null)
+            query.append("\n  and i.purchaseDate >= :afterDate and (i.purchaseDate, i.id) > (:afterDate, :afterId)");
+        return query.append("\norder by i.purchaseDate, i.id").toString();
+    }
+}
@@ -0,0 +1,91 @@
+package br.ifsp.demo.repository;
+
+import br.ifsp.demo.domain.AssetType;
+import br.ifsp.demo.domain.Investment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Repository
+public interface InvestmentRepository extends JpaRepository<Investment, UUID>, InvestmentPageRepository {
+    @Query("""
+            select i from Investment i
+            join fetch i.asset a
+            join fetch i.wallet w
+            where w.user.id = :userId
+              and i.withdrawDate is null
+              and a.assetType = :assetType
+            order by i.purchaseDate, i.id""")
+    List<Investment> findActiveByUserIdAndAssetType(@Param("userId") UUID userId,
+                                                    @Param("assetType") AssetType assetType);
+
+    @Query("""
+            select i from Investment i
+            join fetch i.asset
+            join fetch i.wallet w
+            where w.user.id = :userId
+              and i.withdrawDate is null
+              and i.purchaseDate between :initialDate and :finalDate
+            order by i.purchaseDate, i.id""")
+    List<Investment> findActiveByUserIdAndPurchaseDateBetween(@Param("userId") UUID userId,
+                                                              @Param("initialDate") LocalDate initialDate,
+                                                              @Param("finalDate") LocalDate finalDate);
+
+    @Query("""
+            select i from Investment i
+            join fetch i.asset a
+            join fetch i.wallet w
+            where w.user.id = :userId
+              and i.withdrawDate is not null
+              and a.assetType = :assetType
+            order by i.purchaseDate, i.id""")
+    List<Investment> findHistoryByUserIdAndAssetType(@Param("userId") UUID userId,
+                                                     @Param("assetType") AssetType assetType);
+
+    @Query("""
+            select i from Investment i
+            join fetch i.asset
+            join fetch i.wallet w
+            where w.user.id = :userId
+              and i.withdrawDate is not null
+              and i.purchaseDate between :initialDate and :finalDate
+            order by i.purchaseDate, i.id""")
+    List<Investment> findHistoryByUserIdAndPurchaseDateBetween(@Param("userId") UUID userId,
+                                                               @Param("initialDate") LocalDate initialDate,
+                                                               @Param("finalDate") LocalDate finalDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select i from Investment i
+            join fetch i.asset
+            join fetch i.wallet w
+            where w.user.id = :userId
+              and i.withdrawDate is null
+            order by i.purchaseDate, i.id""")
+    Stream<Investment> streamActiveByUserId(@Param("userId") UUID userId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select i from Investment i
+            join fetch i.asset
+            join fetch i.wallet w
+            where w.user.id = :userId
+              and i.withdrawDate is not null
+            order by i.purchaseDate, i.id""")
+    Stream<Investment> streamHistoryByUserId(@Param("userId") UUID userId);
+}
@@ -1,13 +1,27 @@
 package br.ifsp.demo.repository;
 
 import br.ifsp.demo.domain.Wallet;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface WalletRepository extends JpaRepository<Wallet, UUID> {
     Optional<Wallet> findByUser_Id(UUID userId);
+
+    boolean existsByUser_Id(UUID userId);
+
+    @EntityGraph(attributePaths = {"investments", "investments.asset", "summary"})
+    Optional<Wallet> findWithInvestmentsByUser_Id(UUID userId);
+
+    @EntityGraph(attributePaths = "summary")
+    Optional<Wallet> findWithSummaryByUser_Id(UUID userId);
+
+    @Query("select w.user.id from Wallet w order by w.user.id")
+    List<UUID> findAllUserIds();
 }
@@ -1,6 +1,10 @@
 package br.ifsp.demo.security.auth;
 
+import br.ifsp.demo.security.user.AuthenticatedUser;
+import br.ifsp.demo.security.user.Role;
 import br.ifsp.demo.security.user.User;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -9,10 +13,23 @@ import java.util.UUID;
 @Service
 public class AuthenticationInfoService {
     public UUID getAuthenticatedUserId() {
+        return switch (getAuthentication().getPrincipal()) {
+            case User applicationUser -> applicationUser.getId();
+            case AuthenticatedUser authenticatedUser -> authenticatedUser.id();
+            default -> throw new IllegalStateException("Unauthorized user request.");
+        };
+    }
+
+    public boolean isAuthenticatedAdmin() {
+        return getAuthentication().getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(Role.ADMIN.name()::equals);
+    }
+
+    private static Authentication getAuthentication() {
         var authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated())
             throw new IllegalStateException("Unauthorized user request.");
-        var applicationUser = (User) authentication.getPrincipal();
-        return applicationUser.getId();
+        return authentication;
     }
-}
\ No newline at end of file
+}
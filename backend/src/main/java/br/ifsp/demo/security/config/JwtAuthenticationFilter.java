@@ -1,13 +1,17 @@
 package br.ifsp.demo.security.config;
 
+import br.ifsp.demo.security.user.AuthenticatedUser;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,6 +20,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -23,6 +29,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserStatusCache userStatusCache;
+
+    @Value("${application.jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(
@@ -42,19 +52,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String jwt = authHeader.substring(prefix.length());
 
         try {
-            String email = jwtService.extractUsername(jwt);
+            Claims claims = jwtService.parseToken(jwt);
+            String email = claims.getSubject();
 
             if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
+                Optional<AuthenticatedUser> principal = stateless
+                        ? jwtService.extractAuthenticatedUser(claims)
+                        : Optional.empty();
+
+                if (principal.isPresent()) {
+                    AuthenticatedUser user = principal.get();
+                    if (userStatusCache.isActive(user.id(), user.role()))
+                        authenticate(request, user, user.getAuthorities());
+                } else {
+                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    if (jwtService.isTokenValid(claims, userDetails))
+                        authenticate(request, userDetails, userDetails.getAuthorities());
                 }
             }
         } catch (JwtException e) {
@@ -68,4 +82,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Erros no controller seguirão normalmente para o ControllerAdvice
         filterChain.doFilter(request, response);
     }
+
+    private void authenticate(HttpServletRequest request, Object principal,
+                              Collection<? extends GrantedAuthority> authorities) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                authorities
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
@@ -1,10 +1,15 @@
 package br.ifsp.demo.security.config;
 
+import br.ifsp.demo.security.user.AuthenticatedUser;
+import br.ifsp.demo.security.user.Role;
+import br.ifsp.demo.security.user.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -13,15 +18,31 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
 
     @Value("${application.jwt.secretKey}")
     private String secretKey;
     @Value("${application.jwt.tokenExpiration}")
     private long jwtExpiration;
+    private Key signInKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+    }
+
+    public Claims parseToken(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -31,13 +52,31 @@ public class JwtService {
         return generateToken(new HashMap<>(), userDetails);
     }
 
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId().toString());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        return generateToken(claims, user);
+    }
+
+    public Optional<AuthenticatedUser> extractAuthenticatedUser(Claims claims) {
+        final String userId = claims.get(USER_ID_CLAIM, String.class);
+        final String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null || claims.getSubject() == null) return Optional.empty();
+        return Optional.of(new AuthenticatedUser(UUID.fromString(userId), claims.getSubject(), Role.valueOf(role)));
+    }
+
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(parseToken(token), userDetails);
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername())) && !isTokenExpired(claims);
     }
 
-    private boolean isTokenExpired(String token) {
-        final Date expiration = extractClaim(token, Claims::getExpiration);
+    private boolean isTokenExpired(Claims claims) {
+        final Date expiration = claims.getExpiration();
         return expiration.before(new Date());
     }
 
@@ -48,26 +87,12 @@ public class JwtService {
                  .setSubject(userDetails.getUsername())
                  .setIssuedAt(new Date(System.currentTimeMillis()))
                  .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                 .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                 .signWith(signInKey, SignatureAlgorithm.HS256)
                  .compact();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseToken(token);
         return claimsResolver.apply(claims);
     }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
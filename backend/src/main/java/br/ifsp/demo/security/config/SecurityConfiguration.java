@@ -1,5 +1,6 @@
 package br.ifsp.demo.security.config;
 
+import br.ifsp.demo.security.user.Role;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -27,6 +28,12 @@ public class SecurityConfiguration {
             "/api/v1/swagger-ui/**"
     };
 
+    private static final String[] ADMIN_URL = {
+            "/api/v1/asset/catalog/stats",
+            "/api/v1/report-jobs/all",
+            "/api/v1/report-jobs/metrics"
+    };
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final AuthenticationProvider authenticationProvider;
 
@@ -37,6 +44,8 @@ public class SecurityConfiguration {
                 .authorizeHttpRequests(req ->
                         req.requestMatchers(WHITE_LIST_URL)
                                 .permitAll()
+                                .requestMatchers(ADMIN_URL)
+                                .hasAuthority(Role.ADMIN.name())
                                 .anyRequest()
                                 .authenticated()
                 )
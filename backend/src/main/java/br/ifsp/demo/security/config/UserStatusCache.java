@@ -0,0 +1,74 @@
+package br.ifsp.demo.security.config;
+
+import br.ifsp.demo.security.user.JpaUserRepository;
+import br.ifsp.demo.security.user.Role;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+@Component
+public class UserStatusCache {
+    private final JpaUserRepository repository;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final Map<UUID, Entry> entries;
+
+    @Autowired
+    public UserStatusCache(JpaUserRepository repository,
+                           @Value("${application.jwt.userStatusCache.ttlSeconds:60}") long ttlSeconds,
+                           @Value("${application.jwt.userStatusCache.maxSize:10000}") int maxSize) {
+        this(repository, ttlSeconds, maxSize, System::nanoTime);
+    }
+
+    UserStatusCache(JpaUserRepository repository, long ttlSeconds, int maxSize, LongSupplier clock) {
+        if (ttlSeconds < 0) throw new IllegalArgumentException("Cache ttl cannot be negative");
+        if (maxSize <= 0) throw new IllegalArgumentException("Cache size must be greater than zero");
+        this.repository = repository;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public boolean isActive(UUID userId, Role role) {
+        return role != null && role == currentRole(userId);
+    }
+
+    private Role currentRole(UUID userId) {
+        long now = clock.getAsLong();
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry != null && now - entry.loadedAt() < ttlNanos) return entry.role();
+        }
+        Role role = repository.findRoleById(userId).orElse(null);
+        synchronized (entries) {
+            entries.put(userId, new Entry(role, now));
+        }
+        return role;
+    }
+
+    public void evict(UUID userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry(Role role, long loadedAt) {
+    }
+}
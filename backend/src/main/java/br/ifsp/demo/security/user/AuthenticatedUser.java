@@ -0,0 +1,21 @@
+package br.ifsp.demo.security.user;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+public record AuthenticatedUser(UUID id, String email, Role role) {
+    public AuthenticatedUser {
+        Objects.requireNonNull(id, "User id cannot be null");
+        Objects.requireNonNull(email, "User email cannot be null");
+        Objects.requireNonNull(role, "User role cannot be null");
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+}
@@ -1,10 +1,15 @@
 package br.ifsp.demo.security.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
 
 public interface JpaUserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
+
+    @Query("select u.role from User u where u.id = :id")
+    Optional<Role> findRoleById(@Param("id") UUID id);
 }
@@ -18,6 +18,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(UserStatusCacheEvictionListener.class)
 @Table(name = "app_user")
 public class User implements UserDetails {
     @Id
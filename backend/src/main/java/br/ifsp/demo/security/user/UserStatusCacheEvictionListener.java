@@ -0,0 +1,39 @@
+package br.ifsp.demo.security.user;
+
+import br.ifsp.demo.security.config.UserStatusCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts a user from the {@link UserStatusCache} whenever the row is inserted, updated or deleted, so stateless tokens
+ * stop authenticating as soon as the change commits instead of after the cache ttl.
+ */
+public class UserStatusCacheEvictionListener {
+    private final ObjectProvider<UserStatusCache> cache;
+
+    public UserStatusCacheEvictionListener(ObjectProvider<UserStatusCache> cache) {
+        this.cache = cache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void evict(User user) {
+        UserStatusCache statusCache = cache.getIfAvailable();
+        if (statusCache == null || user.getId() == null) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            statusCache.evict(user.getId());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                statusCache.evict(user.getId());
+            }
+        });
+    }
+}
@@ -0,0 +1,133 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.dto.asset.AssetResponseDTO;
+import br.ifsp.demo.mapper.AssetMapper;
+import br.ifsp.demo.repository.AssetRepository;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches assets as immutable {@link AssetResponseDTO} values and hands out a fresh {@link Asset} per lookup, so no
+ * entity instance is shared between sessions or threads. The whole cache is dropped {@code ttl} after it was first
+ * filled, which bounds how long writes made outside {@link AssetService#saveAsset} stay invisible.
+ */
+public final class AssetCatalog {
+    private final AssetRepository repository;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile Snapshot snapshot;
+
+    public AssetCatalog(AssetRepository repository, Duration ttl) {
+        this(repository, ttl, System::nanoTime);
+    }
+
+    AssetCatalog(AssetRepository repository, Duration ttl, LongSupplier clock) {
+        this.repository = Objects.requireNonNull(repository, "Asset repository cannot be null");
+        Objects.requireNonNull(ttl, "Catalog ttl cannot be null");
+        if (ttl.isNegative()) throw new IllegalArgumentException("Catalog ttl cannot be negative");
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.snapshot = Snapshot.empty(clock.getAsLong());
+    }
+
+    public Optional<Asset> findById(UUID assetId) {
+        AssetResponseDTO cached = current().byId().get(assetId);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(AssetMapper.toEntity(cached));
+        }
+        misses.increment();
+        Optional<Asset> loaded = repository.findById(assetId);
+        loaded.ifPresent(asset -> putAll(List.of(asset)));
+        return loaded;
+    }
+
+    public Map<UUID, Asset> findAllById(Collection<UUID> assetIds) {
+        Map<UUID, AssetResponseDTO> cached = current().byId();
+        Map<UUID, Asset> found = new HashMap<>();
+        Set<UUID> missing = new HashSet<>();
+        for (UUID assetId : assetIds) {
+            AssetResponseDTO asset = cached.get(assetId);
+            if (asset != null) found.put(assetId, AssetMapper.toEntity(asset));
+            else missing.add(assetId);
+        }
+        if (missing.isEmpty()) {
+            hits.increment();
+            return found;
+        }
+        misses.increment();
+        List<Asset> loaded = repository.findAllById(missing);
+        loaded.forEach(asset -> found.put(asset.getId(), asset));
+        putAll(loaded);
+        return found;
+    }
+
+    public List<AssetResponseDTO> findAll() {
+        Snapshot current = current();
+        if (current.complete()) {
+            hits.increment();
+            return current.responses();
+        }
+        misses.increment();
+        return load().responses();
+    }
+
+    public void refresh() {
+        load();
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), snapshot.byId().size());
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (clock.getAsLong() - current.loadedAt() <= ttlNanos) return current;
+        return expire(current);
+    }
+
+    private synchronized Snapshot expire(Snapshot expired) {
+        if (snapshot == expired) snapshot = Snapshot.empty(clock.getAsLong());
+        return snapshot;
+    }
+
+    private synchronized Snapshot load() {
+        Snapshot loaded = Snapshot.of(repository.findAll(), clock.getAsLong());
+        snapshot = loaded;
+        return loaded;
+    }
+
+    private synchronized void putAll(List<Asset> assets) {
+        Snapshot current = snapshot;
+        if (assets.stream().allMatch(asset -> current.byId().containsKey(asset.getId()))) return;
+        Map<UUID, AssetResponseDTO> byId = new LinkedHashMap<>(current.byId());
+        AssetMapper.listToResponseDTO(assets).forEach(asset -> byId.putIfAbsent(asset.id(), asset));
+        snapshot = new Snapshot(Collections.unmodifiableMap(byId), null, current.loadedAt());
+    }
+
+    private record Snapshot(Map<UUID, AssetResponseDTO> byId, List<AssetResponseDTO> responses, long loadedAt) {
+        private static Snapshot empty(long now) {
+            return new Snapshot(Map.of(), null, now);
+        }
+
+        private static Snapshot of(List<Asset> assets, long now) {
+            List<AssetResponseDTO> responses = AssetMapper.listToResponseDTO(assets);
+            Map<UUID, AssetResponseDTO> byId = new LinkedHashMap<>();
+            responses.forEach(asset -> byId.put(asset.id(), asset));
+            return new Snapshot(Collections.unmodifiableMap(byId), responses, now);
+        }
+
+        private boolean complete() {
+            return responses != null;
+        }
+    }
+
+    public record Stats(long hits, long misses, int size) {
+    }
+}
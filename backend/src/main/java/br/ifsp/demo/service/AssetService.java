@@ -1,9 +1,15 @@
 package br.ifsp.demo.service;
 
 import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.dto.asset.AssetResponseDTO;
 import br.ifsp.demo.repository.AssetRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.UUID;
@@ -11,14 +17,37 @@ import java.util.UUID;
 @Service
 public class AssetService {
     AssetRepository repository;
+    AssetCatalog catalog;
 
-    public AssetService(AssetRepository repository) {
+    public AssetService(AssetRepository repository,
+                        @Value("${application.asset-catalog.ttl:PT5M}") Duration catalogTtl) {
         this.repository = repository;
+        this.catalog = new AssetCatalog(repository, catalogTtl);
     }
 
     public Asset getAssetById(UUID assetId) {
         Objects.requireNonNull(assetId, "assetId cannot be null");
-        return repository.findById(assetId)
+        return catalog.findById(assetId)
                 .orElseThrow(() -> new NoSuchElementException("Asset not found for id: " + assetId));
     }
+
+    public Map<UUID, Asset> getAssetsByIds(Collection<UUID> assetIds) {
+        Objects.requireNonNull(assetIds, "assetIds cannot be null");
+        return catalog.findAllById(assetIds);
+    }
+
+    public List<AssetResponseDTO> getAssets() {
+        return catalog.findAll();
+    }
+
+    public Asset saveAsset(Asset asset) {
+        Objects.requireNonNull(asset, "Asset cannot be null");
+        Asset saved = repository.save(asset);
+        catalog.refresh();
+        return saved;
+    }
+
+    public AssetCatalog.Stats getCatalogStats() {
+        return catalog.getStats();
+    }
 }
@@ -0,0 +1,100 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.AssetType;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.util.DecimalFormatter;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One row per investment, tagged {@code ACTIVE} or {@code HISTORY}, followed by the {@code TOTAL} and
+ * {@code FUTURE} balances and one {@code ACTIVE_BY_TYPE} / {@code HISTORY_BY_TYPE} row per asset type.
+ * Numbers use a dot decimal separator and dates are ISO-8601 regardless of the server locale.
+ */
+@Component
+public class CsvWalletReportWriter implements WalletReportWriter {
+    private static final MediaType MEDIA_TYPE = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final String HEADER =
+            "record,investment_id,asset_name,asset_type,initial_value,purchase_date,withdraw_date,current_balance,percentage\n";
+
+    @Override
+    public MediaType getMediaType() {
+        return MEDIA_TYPE;
+    }
+
+    @Override
+    public void write(WalletReportContent content, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        DecimalFormatter decimals = new DecimalFormatter(Locale.ROOT);
+
+        writer.write(HEADER);
+        content.forEachActive(investment -> writeInvestment("ACTIVE", investment, writer, decimals));
+        content.forEachHistory(investment -> writeInvestment("HISTORY", investment, writer, decimals));
+
+        writer.write("TOTAL,,,,,,,");
+        decimals.writeTwoDecimals(content.getTotalBalance(), writer);
+        writer.write(",\nFUTURE,,,,,,,");
+        decimals.writeTwoDecimals(content.getFutureBalance(), writer);
+        writer.write(",\n");
+        writePercentages("ACTIVE_BY_TYPE", content.getActivePercentages(), writer, decimals);
+        writePercentages("HISTORY_BY_TYPE", content.getHistoryPercentages(), writer, decimals);
+        writer.flush();
+    }
+
+    private static void writeInvestment(String record, Investment investment, Writer writer,
+                                        DecimalFormatter decimals) throws IOException {
+        writer.write(record);
+        writer.write(',');
+        writer.write(investment.getId().toString());
+        writer.write(',');
+        writeQuoted(investment.getAsset().getName(), writer);
+        writer.write(',');
+        writer.write(investment.getAsset().getAssetType().name());
+        writer.write(',');
+        decimals.writeTwoDecimals(investment.getInitialValue(), writer);
+        writer.write(',');
+        writeDate(investment.getPurchaseDate(), writer);
+        writer.write(',');
+        writeDate(investment.getWithdrawDate(), writer);
+        writer.write(',');
+        decimals.writeTwoDecimals(investment.calculateCurrentBalanceInCents() / 100.0, writer);
+        writer.write(",\n");
+    }
+
+    private static void writePercentages(String record, Map<AssetType, Double> percentages, Writer writer,
+                                         DecimalFormatter decimals) throws IOException {
+        for (Map.Entry<AssetType, Double> entry : percentages.entrySet()) {
+            writer.write(record);
+            writer.write(",,,");
+            writer.write(entry.getKey().name());
+            writer.write(",,,,,");
+            decimals.writeTwoDecimals(entry.getValue(), writer);
+            writer.write('\n');
+        }
+    }
+
+    private static void writeDate(LocalDate date, Writer writer) throws IOException {
+        if (date != null) writer.write(date.toString());
+    }
+
+    private static void writeQuoted(String value, Writer writer) throws IOException {
+        if (value == null) return;
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') writer.write('"');
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
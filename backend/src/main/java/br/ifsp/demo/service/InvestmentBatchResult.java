@@ -0,0 +1,18 @@
+package br.ifsp.demo.service;
+
+import java.util.List;
+import java.util.UUID;
+
+public record InvestmentBatchResult(int index, UUID investmentId, List<String> errors) {
+    public static InvestmentBatchResult created(int index, UUID investmentId) {
+        return new InvestmentBatchResult(index, investmentId, List.of());
+    }
+
+    public static InvestmentBatchResult rejected(int index, List<String> errors) {
+        return new InvestmentBatchResult(index, null, List.copyOf(errors));
+    }
+
+    public boolean isCreated() {
+        return investmentId != null;
+    }
+}
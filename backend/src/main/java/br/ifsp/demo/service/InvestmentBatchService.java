@@ -0,0 +1,97 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.Wallet;
+import br.ifsp.demo.dto.investment.InvestmentRequestDTO;
+import br.ifsp.demo.repository.WalletRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Adds many investments to a wallet in one transaction. Assets are resolved with a single lookup, every item is
+ * validated on its own, and valid items are persisted directly instead of merging the whole wallet, so the
+ * inserts go out in JDBC batches of {@code hibernate.jdbc.batch_size}. Invalid items are reported and skipped.
+ */
+@Service
+@Transactional
+public class InvestmentBatchService {
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    private final WalletRepository walletRepository;
+    private final AssetService assetService;
+    private final EntityManager entityManager;
+    private final Validator validator;
+
+    public InvestmentBatchService(WalletRepository walletRepository,
+                                  AssetService assetService,
+                                  EntityManager entityManager,
+                                  Validator validator) {
+        this.walletRepository = walletRepository;
+        this.assetService = assetService;
+        this.entityManager = entityManager;
+        this.validator = validator;
+    }
+
+    public List<InvestmentBatchResult> addInvestments(UUID userId, List<InvestmentRequestDTO> requests) {
+        Objects.requireNonNull(userId, "User id cannot be null");
+        Objects.requireNonNull(requests, "Investments cannot be null");
+        if (requests.isEmpty()) throw new IllegalArgumentException("Investments cannot be empty");
+        if (requests.size() > MAX_BATCH_SIZE)
+            throw new IllegalArgumentException("Investments cannot exceed " + MAX_BATCH_SIZE + " per batch");
+
+        Wallet wallet = walletRepository.findWithSummaryByUser_Id(userId)
+                .orElseThrow(() -> new NoSuchElementException("This user has not a wallet: " + userId));
+        Map<UUID, Asset> assets = assetService.getAssetsByIds(assetIds(requests));
+
+        List<InvestmentBatchResult> results = new ArrayList<>(requests.size());
+        for (int index = 0; index < requests.size(); index++) {
+            results.add(addInvestment(wallet, index, requests.get(index), assets));
+        }
+        return results;
+    }
+
+    private static Set<UUID> assetIds(List<InvestmentRequestDTO> requests) {
+        Set<UUID> assetIds = new HashSet<>();
+        for (InvestmentRequestDTO request : requests) {
+            if (request != null && request.assetId() != null) assetIds.add(request.assetId());
+        }
+        return assetIds;
+    }
+
+    private InvestmentBatchResult addInvestment(Wallet wallet, int index, InvestmentRequestDTO request,
+                                                Map<UUID, Asset> assets) {
+        if (request == null) return InvestmentBatchResult.rejected(index, List.of("Investment cannot be null"));
+
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<InvestmentRequestDTO> violation : validator.validate(request)) {
+            errors.add(violation.getMessage());
+        }
+        errors.sort(null);
+        Asset asset = request.assetId() == null ? null : assets.get(request.assetId());
+        if (request.assetId() != null && asset == null) errors.add("Asset not found for id: " + request.assetId());
+        if (!errors.isEmpty()) return InvestmentBatchResult.rejected(index, errors);
+
+        Investment investment;
+        try {
+            investment = new Investment(request.initialValue(), asset);
+        } catch (IllegalArgumentException e) {
+            return InvestmentBatchResult.rejected(index, List.of(e.getMessage()));
+        }
+        wallet.appendInvestment(investment);
+        entityManager.persist(investment);
+        return InvestmentBatchResult.created(index, investment.getId());
+    }
+}
@@ -0,0 +1,62 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.repository.InvestmentRepository;
+import br.ifsp.demo.repository.WalletRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+@Transactional(readOnly = true)
+public class InvestmentExportService {
+    private final WalletRepository walletRepository;
+    private final InvestmentRepository investmentRepository;
+    private final EntityManager entityManager;
+
+    public InvestmentExportService(WalletRepository walletRepository,
+                                   InvestmentRepository investmentRepository,
+                                   EntityManager entityManager) {
+        this.walletRepository = walletRepository;
+        this.investmentRepository = investmentRepository;
+        this.entityManager = entityManager;
+    }
+
+    public void requireWallet(UUID userId) {
+        Objects.requireNonNull(userId, "User id cannot be null");
+        if (!walletRepository.existsByUser_Id(userId))
+            throw new NoSuchElementException("This user has not a wallet: " + userId);
+    }
+
+    public long forEachInvestment(UUID userId, Consumer<Investment> action) {
+        Objects.requireNonNull(userId, "User id cannot be null");
+        Objects.requireNonNull(action, "Action cannot be null");
+        try (Stream<Investment> investments = investmentRepository.streamActiveByUserId(userId)) {
+            return forEach(investments, action);
+        }
+    }
+
+    public long forEachHistoryInvestment(UUID userId, Consumer<Investment> action) {
+        Objects.requireNonNull(userId, "User id cannot be null");
+        Objects.requireNonNull(action, "Action cannot be null");
+        try (Stream<Investment> investments = investmentRepository.streamHistoryByUserId(userId)) {
+            return forEach(investments, action);
+        }
+    }
+
+    private long forEach(Stream<Investment> investments, Consumer<Investment> action) {
+        long count = 0;
+        for (Investment investment : (Iterable<Investment>) investments::iterator) {
+            action.accept(investment);
+            entityManager.detach(investment);
+            count++;
+        }
+        return count;
+    }
+}
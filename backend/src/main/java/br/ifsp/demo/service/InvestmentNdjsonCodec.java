@@ -0,0 +1,98 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.dto.investment.InvestmentRequestDTO;
+import br.ifsp.demo.dto.investment.InvestmentResponseDTO;
+import br.ifsp.demo.mapper.InvestmentMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Newline delimited JSON encoding of investments for the streaming endpoints. Lines are flushed every
+ * {@link #FLUSH_INTERVAL} investments rather than after each value.
+ * <p>
+ * Investment batches are decoded one request at a time, both as NDJSON lines and as a JSON array, and rejected as
+ * soon as they go past {@link InvestmentBatchService#MAX_BATCH_SIZE} instead of after the whole body was read.
+ */
+@Component
+public class InvestmentNdjsonCodec {
+    static final int FLUSH_INTERVAL = 100;
+
+    private final ObjectWriter investmentWriter;
+    private final ObjectReader investmentRequestReader;
+
+    public InvestmentNdjsonCodec(ObjectMapper objectMapper) {
+        this.investmentWriter = objectMapper.writerFor(InvestmentResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.investmentRequestReader = objectMapper.readerFor(InvestmentRequestDTO.class);
+    }
+
+    public void write(OutputStream output, Consumer<Consumer<Investment>> source) throws IOException {
+        try (JsonGenerator generator = investmentWriter.createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            int[] pending = {0};
+            source.accept(investment -> {
+                try {
+                    investmentWriter.writeValue(generator, InvestmentMapper.toResponseDTO(investment));
+                    generator.writeRaw('\n');
+                    if (++pending[0] == FLUSH_INTERVAL) {
+                        generator.flush();
+                        pending[0] = 0;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    public List<InvestmentRequestDTO> readNdjson(InputStream input) throws IOException {
+        List<InvestmentRequestDTO> requests = new ArrayList<>();
+        try (MappingIterator<InvestmentRequestDTO> lines = investmentRequestReader.readValues(input)) {
+            while (lines.hasNextValue()) {
+                requireCapacity(requests);
+                requests.add(lines.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed investment batch: " + e.getOriginalMessage());
+        }
+        return requests;
+    }
+
+    public List<InvestmentRequestDTO> readJsonArray(InputStream input) throws IOException {
+        List<InvestmentRequestDTO> requests = new ArrayList<>();
+        try (JsonParser parser = investmentRequestReader.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY)
+                throw new IllegalArgumentException("Investment batch must be a JSON array");
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token == null) throw new IllegalArgumentException("Malformed investment batch: unexpected end of input");
+                requireCapacity(requests);
+                requests.add(investmentRequestReader.readValue(parser));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed investment batch: " + e.getOriginalMessage());
+        }
+        return requests;
+    }
+
+    private static void requireCapacity(List<InvestmentRequestDTO> requests) {
+        if (requests.size() == InvestmentBatchService.MAX_BATCH_SIZE)
+            throw new IllegalArgumentException("Investments cannot exceed " + InvestmentBatchService.MAX_BATCH_SIZE + " per batch");
+    }
+}
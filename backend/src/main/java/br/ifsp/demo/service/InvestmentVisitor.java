@@ -0,0 +1,10 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.Investment;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface InvestmentVisitor {
+    void visit(Investment investment) throws IOException;
+}
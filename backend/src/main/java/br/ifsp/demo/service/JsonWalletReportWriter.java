@@ -0,0 +1,79 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.AssetType;
+import br.ifsp.demo.domain.Investment;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Writes the report as a single JSON object through a {@link JsonGenerator}, so the {@code active} and
+ * {@code history} arrays are emitted row by row and never materialized.
+ */
+@Component
+public class JsonWalletReportWriter implements WalletReportWriter {
+    private final ObjectMapper objectMapper;
+
+    public JsonWalletReportWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public MediaType getMediaType() {
+        return MediaType.APPLICATION_JSON;
+    }
+
+    @Override
+    public void write(WalletReportContent content, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+
+            generator.writeArrayFieldStart("active");
+            content.forEachActive(investment -> writeInvestment(investment, generator));
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("history");
+            content.forEachHistory(investment -> writeInvestment(investment, generator));
+            generator.writeEndArray();
+
+            generator.writeNumberField("currentBalance", content.getTotalBalance());
+            generator.writeNumberField("futureBalance", content.getFutureBalance());
+            writePercentages("activeByType", content.getActivePercentages(), generator);
+            writePercentages("historyByType", content.getHistoryPercentages(), generator);
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeInvestment(Investment investment, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", investment.getId().toString());
+        generator.writeStringField("assetId", investment.getAsset().getId().toString());
+        generator.writeStringField("assetName", investment.getAsset().getName());
+        generator.writeStringField("assetType", investment.getAsset().getAssetType().name());
+        generator.writeNumberField("initialValue", investment.getInitialValue());
+        writeDate("purchaseDate", investment.getPurchaseDate(), generator);
+        writeDate("withdrawDate", investment.getWithdrawDate(), generator);
+        generator.writeNumberField("currentBalance", investment.calculateCurrentBalanceInCents() / 100.0);
+        generator.writeEndObject();
+    }
+
+    private static void writeDate(String field, LocalDate date, JsonGenerator generator) throws IOException {
+        if (date == null) generator.writeNullField(field);
+        else generator.writeStringField(field, date.toString());
+    }
+
+    private static void writePercentages(String field, Map<AssetType, Double> percentages,
+                                         JsonGenerator generator) throws IOException {
+        generator.writeObjectFieldStart(field);
+        for (Map.Entry<AssetType, Double> entry : percentages.entrySet()) {
+            generator.writeNumberField(entry.getKey().name(), entry.getValue());
+        }
+        generator.writeEndObject();
+    }
+}
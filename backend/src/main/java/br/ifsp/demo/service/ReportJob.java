@@ -0,0 +1,143 @@
+package br.ifsp.demo.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A report generation request for one wallet or for every wallet. Reports are written to disk by the
+ * {@link ReportJobService} workers; the job only keeps counters and the location of each finished report.
+ */
+@Getter
+public class ReportJob {
+    private final UUID id;
+    private final UUID submittedBy;
+    private final UUID targetUserId;
+    private final MediaType mediaType;
+    private final Instant createdAt;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile ReportJobStatus status;
+    private volatile long total = -1;
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong completed = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong skipped = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong failed = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final Map<UUID, Path> results = new ConcurrentHashMap<>();
+
+    ReportJob(UUID submittedBy, UUID targetUserId, MediaType mediaType, Instant createdAt) {
+        this.id = UUID.randomUUID();
+        this.submittedBy = Objects.requireNonNull(submittedBy, "Submitter id cannot be null");
+        this.targetUserId = targetUserId;
+        this.mediaType = Objects.requireNonNull(mediaType, "Media type cannot be null");
+        this.createdAt = createdAt;
+        this.status = ReportJobStatus.QUEUED;
+    }
+
+    public boolean isForAllUsers() {
+        return targetUserId == null;
+    }
+
+    public boolean isVisibleTo(UUID userId, boolean admin) {
+        if (submittedBy.equals(userId)) return true;
+        return isForAllUsers() ? admin : targetUserId.equals(userId);
+    }
+
+    public boolean isFinished() {
+        return status == ReportJobStatus.COMPLETED || status == ReportJobStatus.FAILED;
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getProcessed() {
+        return completed.get() + skipped.get() + failed.get();
+    }
+
+    public double getProgress() {
+        long total = this.total;
+        if (total < 0) return 0.0;
+        if (total == 0) return 100.0;
+        return getProcessed() * 100.0 / total;
+    }
+
+    public double getThroughputPerSecond(Instant now) {
+        Instant startedAt = this.startedAt;
+        if (startedAt == null) return 0.0;
+        Instant end = finishedAt != null ? finishedAt : now;
+        long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+        return getProcessed() * 1000.0 / millis;
+    }
+
+    public Optional<Path> getResult(UUID userId) {
+        return Optional.ofNullable(results.get(userId));
+    }
+
+    Collection<Path> getResults() {
+        return results.values();
+    }
+
+    synchronized void start(Instant now) {
+        if (startedAt == null) {
+            startedAt = now;
+            status = ReportJobStatus.RUNNING;
+        }
+    }
+
+    synchronized void dispatched(long total, Instant now) {
+        this.total = total;
+        finishIfDone(now);
+    }
+
+    void reportCompleted(UUID userId, Path result, Instant now) {
+        results.put(userId, result);
+        completed.incrementAndGet();
+        finishIfDone(now);
+    }
+
+    void reportSkipped(Instant now) {
+        skipped.incrementAndGet();
+        finishIfDone(now);
+    }
+
+    void reportFailed(Instant now) {
+        failed.incrementAndGet();
+        finishIfDone(now);
+    }
+
+    synchronized void fail(Instant now) {
+        if (isFinished()) return;
+        status = ReportJobStatus.FAILED;
+        finishedAt = now;
+    }
+
+    private synchronized void finishIfDone(Instant now) {
+        if (isFinished() || total < 0 || getProcessed() < total) return;
+        if (startedAt == null) startedAt = now;
+        status = ReportJobStatus.COMPLETED;
+        finishedAt = now;
+    }
+}
@@ -0,0 +1,12 @@
+package br.ifsp.demo.service;
+
+public record ReportJobMetrics(
+        int workers,
+        int activeWorkers,
+        int queueCapacity,
+        int queueDepth,
+        long runningJobs,
+        long reportsGenerated,
+        long reportsFailed,
+        double averageGenerationMillis) {
+}
@@ -0,0 +1,252 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.repository.WalletRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Generates wallet reports in the background. A fixed number of workers streams each wallet through
+ * {@link WalletReportExportService} into a file, so at most {@code workers} pooled connections are used by
+ * report generation whatever the number of queued reports.
+ * <p>
+ * Single wallet jobs are bounded by {@code queueCapacity} permits of their own and are rejected when those run out.
+ * Jobs for every wallet are fed by a dispatcher thread that holds at most {@code workers} reports in flight and
+ * blocks until one finishes, so a large job never takes the permits reserved for single wallet jobs.
+ * Jobs are kept in memory; finished jobs and their files are dropped after {@code retention}. Workers are virtual
+ * threads when {@code spring.threads.virtual.enabled} is set; their number still bounds the connections in use.
+ */
+@Service
+public class ReportJobService {
+    private final WalletRepository walletRepository;
+    private final WalletReportExportService exportService;
+    private final WalletReportWriters writers;
+    private final Path directory;
+    private final Duration retention;
+    private final int workerCount;
+    private final int queueCapacity;
+    private final Clock clock;
+
+    private final ThreadPoolExecutor workers;
+    private final ExecutorService dispatcher;
+    private final Semaphore slots;
+    private final Semaphore dispatchSlots;
+    private final Map<UUID, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final LongAdder reportsGenerated = new LongAdder();
+    private final LongAdder reportsFailed = new LongAdder();
+    private final LongAdder generationNanos = new LongAdder();
+
+    @Autowired
+    public ReportJobService(WalletRepository walletRepository,
+                            WalletReportExportService exportService,
+                            WalletReportWriters writers,
+                            @Value("${application.report-jobs.directory:reports}") Path directory,
+                            @Value("${application.report-jobs.workers:2}") int workerCount,
+                            @Value("${application.report-jobs.queue-capacity:100}") int queueCapacity,
+                            @Value("${application.report-jobs.retention:P7D}") Duration retention,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this(walletRepository, exportService, writers, directory, workerCount, queueCapacity, retention, Clock.systemUTC(),
+                virtualThreads ? Thread.ofVirtual().name("report-worker-", 1).factory()
+                        : Thread.ofPlatform().name("report-worker-", 1).factory());
+    }
+
+    ReportJobService(WalletRepository walletRepository,
+                     WalletReportExportService exportService,
+                     WalletReportWriters writers,
+                     Path directory,
+                     int workerCount,
+                     int queueCapacity,
+                     Duration retention,
+                     Clock clock,
+                     ThreadFactory workerFactory) {
+        if (workerCount <= 0) throw new IllegalArgumentException("Report workers must be greater than zero");
+        if (queueCapacity <= 0) throw new IllegalArgumentException("Report queue capacity must be greater than zero");
+        this.walletRepository = walletRepository;
+        this.exportService = exportService;
+        this.writers = writers;
+        this.directory = directory.toAbsolutePath();
+        this.retention = retention;
+        this.workerCount = workerCount;
+        this.queueCapacity = queueCapacity;
+        this.clock = clock;
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), workerFactory);
+        this.dispatcher = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("report-dispatcher").factory());
+        this.slots = new Semaphore(queueCapacity + workerCount);
+        this.dispatchSlots = new Semaphore(workerCount);
+    }
+
+    public ReportJob submit(UUID userId, String format) throws HttpMediaTypeNotAcceptableException {
+        Objects.requireNonNull(userId, "User id cannot be null");
+        WalletReportWriter writer = writers.select(format);
+        if (!walletRepository.existsByUser_Id(userId))
+            throw new NoSuchElementException("This user has not a wallet: " + userId);
+        purgeExpiredJobs();
+        if (!slots.tryAcquire())
+            throw new RejectedExecutionException("The report queue is full, try again later");
+
+        ReportJob job = register(new ReportJob(userId, userId, writer.getMediaType(), clock.instant()));
+        job.dispatched(1, clock.instant());
+        enqueue(job, userId, writer, slots);
+        return job;
+    }
+
+    public ReportJob submitForAllUsers(UUID submittedBy, String format) throws HttpMediaTypeNotAcceptableException {
+        Objects.requireNonNull(submittedBy, "User id cannot be null");
+        WalletReportWriter writer = writers.select(format);
+
+        purgeExpiredJobs();
+        ReportJob job = register(new ReportJob(submittedBy, null, writer.getMediaType(), clock.instant()));
+        dispatcher.execute(() -> dispatchAll(job, writer));
+        return job;
+    }
+
+    public ReportJob getJob(UUID jobId, UUID userId, boolean admin) {
+        Objects.requireNonNull(jobId, "Job id cannot be null");
+        Objects.requireNonNull(userId, "User id cannot be null");
+        ReportJob job = jobs.get(jobId);
+        if (job == null || !job.isVisibleTo(userId, admin))
+            throw new NoSuchElementException("Report job not found: " + jobId);
+        return job;
+    }
+
+    public Path getResult(UUID jobId, UUID userId, boolean admin) {
+        return getJob(jobId, userId, admin).getResult(userId)
+                .orElseThrow(() -> new NoSuchElementException("There is no report for this user in job: " + jobId));
+    }
+
+    public ReportJobMetrics getMetrics() {
+        long generated = reportsGenerated.sum();
+        long running = jobs.values().stream().filter(job -> !job.isFinished()).count();
+        return new ReportJobMetrics(
+                workerCount,
+                workers.getActiveCount(),
+                queueCapacity,
+                workers.getQueue().size(),
+                running,
+                generated,
+                reportsFailed.sum(),
+                generated == 0 ? 0.0 : generationNanos.sum() / 1_000_000.0 / generated);
+    }
+
+    private ReportJob register(ReportJob job) {
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    private void dispatchAll(ReportJob job, WalletReportWriter writer) {
+        try {
+            List<UUID> userIds = walletRepository.findAllUserIds();
+            job.start(clock.instant());
+            job.dispatched(userIds.size(), clock.instant());
+            for (UUID userId : userIds) {
+                dispatchSlots.acquire();
+                enqueue(job, userId, writer, dispatchSlots);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail(clock.instant());
+        } catch (RuntimeException e) {
+            job.fail(clock.instant());
+        }
+    }
+
+    private void enqueue(ReportJob job, UUID userId, WalletReportWriter writer, Semaphore permits) {
+        try {
+            workers.execute(() -> generate(job, userId, writer, permits));
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            job.reportFailed(clock.instant());
+            throw e;
+        }
+    }
+
+    private void generate(ReportJob job, UUID userId, WalletReportWriter writer, Semaphore permits) {
+        long start = System.nanoTime();
+        job.start(clock.instant());
+        Path target = directory.resolve(job.getId().toString())
+                .resolve(userId + "." + extension(writer.getMediaType()));
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        try {
+            Files.createDirectories(target.getParent());
+            exportService.export(userId, writer, mediaType -> Files.newOutputStream(partial));
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            reportsGenerated.increment();
+            generationNanos.add(System.nanoTime() - start);
+            job.reportCompleted(userId, target, clock.instant());
+        } catch (NoSuchElementException e) {
+            job.reportSkipped(clock.instant());
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(partial);
+            reportsFailed.increment();
+            job.reportFailed(clock.instant());
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void purgeExpiredJobs() {
+        Instant expiration = clock.instant().minus(retention);
+        jobs.values().removeIf(job -> {
+            if (!job.isFinished() || job.getFinishedAt().isAfter(expiration)) return false;
+            deleteRecursively(directory.resolve(job.getId().toString()));
+            return true;
+        });
+    }
+
+    private static String extension(MediaType mediaType) {
+        if (MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)) return "json";
+        if ("csv".equals(mediaType.getSubtype())) return "csv";
+        return "txt";
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static void deleteRecursively(Path path) {
+        if (!Files.exists(path)) return;
+        try (Stream<Path> paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(ReportJobService::deleteQuietly);
+        } catch (IOException | UncheckedIOException ignored) {
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,8 @@
+package br.ifsp.demo.service;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
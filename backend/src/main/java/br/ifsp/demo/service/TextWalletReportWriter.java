@@ -0,0 +1,28 @@
+package br.ifsp.demo.service;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@Component
+public class TextWalletReportWriter implements WalletReportWriter {
+    private static final MediaType MEDIA_TYPE = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    @Override
+    public MediaType getMediaType() {
+        return MEDIA_TYPE;
+    }
+
+    @Override
+    public void write(WalletReportContent content, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        new WalletReportRenderer(writer).render(content);
+        writer.flush();
+    }
+}
@@ -0,0 +1,125 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.AssetType;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.Wallet;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What a wallet report is made of, walked at most once per section. Asset type counts are gathered while the
+ * investments are visited, so balances and type breakdowns are only available after both sections were visited.
+ */
+public abstract class WalletReportContent {
+    private static final AssetType[] TYPES = AssetType.values();
+
+    private final long[] activeCountByType = new long[TYPES.length];
+    private final long[] historyCountByType = new long[TYPES.length];
+    private long activeCount;
+    private long historyCount;
+    private boolean activeVisited;
+    private boolean historyVisited;
+
+    public static WalletReportContent of(Wallet wallet) {
+        return new WalletReportContent() {
+            @Override
+            public boolean isEmpty() {
+                return wallet.getInvestments().isEmpty() && wallet.getHistoryInvestments().isEmpty();
+            }
+
+            @Override
+            protected void visitActive(InvestmentVisitor visitor) throws IOException {
+                visitAll(wallet.getInvestments(), visitor);
+            }
+
+            @Override
+            protected void visitHistory(InvestmentVisitor visitor) throws IOException {
+                visitAll(wallet.getHistoryInvestments(), visitor);
+            }
+
+            @Override
+            protected double totalBalance() {
+                return wallet.getTotalBalance();
+            }
+
+            @Override
+            protected double futureBalance() {
+                return wallet.getFutureBalance();
+            }
+        };
+    }
+
+    private static void visitAll(List<Investment> investments, InvestmentVisitor visitor) throws IOException {
+        for (Investment investment : investments) {
+            visitor.visit(investment);
+        }
+    }
+
+    public abstract boolean isEmpty();
+
+    protected abstract void visitActive(InvestmentVisitor visitor) throws IOException;
+
+    protected abstract void visitHistory(InvestmentVisitor visitor) throws IOException;
+
+    protected abstract double totalBalance();
+
+    protected abstract double futureBalance();
+
+    public final void forEachActive(InvestmentVisitor visitor) throws IOException {
+        if (activeVisited) throw new IllegalStateException("Active investments were already visited");
+        visitActive(investment -> {
+            activeCountByType[investment.getAsset().getAssetType().ordinal()]++;
+            activeCount++;
+            visitor.visit(investment);
+        });
+        activeVisited = true;
+    }
+
+    public final void forEachHistory(InvestmentVisitor visitor) throws IOException {
+        if (historyVisited) throw new IllegalStateException("History investments were already visited");
+        visitHistory(investment -> {
+            historyCountByType[investment.getAsset().getAssetType().ordinal()]++;
+            historyCount++;
+            visitor.visit(investment);
+        });
+        historyVisited = true;
+    }
+
+    public final double getTotalBalance() {
+        requireVisited();
+        return totalBalance();
+    }
+
+    public final double getFutureBalance() {
+        return futureBalance();
+    }
+
+    public final Map<AssetType, Double> getActivePercentages() {
+        requireVisited();
+        return percentages(activeCountByType, activeCount);
+    }
+
+    public final Map<AssetType, Double> getHistoryPercentages() {
+        requireVisited();
+        return percentages(historyCountByType, historyCount);
+    }
+
+    private void requireVisited() {
+        if (!activeVisited || !historyVisited)
+            throw new IllegalStateException("Investments must be visited before reading report totals");
+    }
+
+    private static Map<AssetType, Double> percentages(long[] countByType, long total) {
+        if (total == 0) return Collections.emptyMap();
+        double totalCount = total;
+        Map<AssetType, Double> percentages = new EnumMap<>(AssetType.class);
+        for (AssetType type : TYPES) {
+            percentages.put(type, (countByType[type.ordinal()] / totalCount) * 100.0);
+        }
+        return Collections.unmodifiableMap(percentages);
+    }
+}
@@ -0,0 +1,118 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.ActiveBalanceAccumulator;
+import br.ifsp.demo.domain.AssetType;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.WalletSummary;
+import br.ifsp.demo.repository.WalletRepository;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Streams wallet reports straight from the investment cursors of {@link InvestmentExportService}. Only the
+ * materialized {@link WalletSummary} and one balance group per asset are kept in memory, whatever the wallet size.
+ * <p>
+ * Rows follow the cursor order, oldest purchase first and then by id. The report built from a loaded {@link
+ * br.ifsp.demo.domain.Wallet} listed them in the iteration order of its investment set, which the database does not
+ * define, so that order is not kept; everything else in the text report is unchanged.
+ */
+@Service
+@Transactional(readOnly = true)
+public class WalletReportExportService {
+    private final WalletRepository walletRepository;
+    private final InvestmentExportService investmentExportService;
+
+    public WalletReportExportService(WalletRepository walletRepository,
+                                     InvestmentExportService investmentExportService) {
+        this.walletRepository = walletRepository;
+        this.investmentExportService = investmentExportService;
+    }
+
+    public void export(UUID userId, WalletReportWriter writer, ReportTarget target) throws IOException {
+        Objects.requireNonNull(userId, "User id cannot be null");
+        Objects.requireNonNull(writer, "Report writer cannot be null");
+        Objects.requireNonNull(target, "Report target cannot be null");
+
+        WalletSummary summary = walletRepository.findWithSummaryByUser_Id(userId)
+                .orElseThrow(() -> new NoSuchElementException("This user has not a wallet: " + userId))
+                .getSummary();
+        WalletReportContent content = new StreamedContent(userId, summary);
+        if (content.isEmpty()) throw new NoSuchElementException("There are no investments in this wallet");
+
+        writer.write(content, target.open(writer.getMediaType()));
+    }
+
+    /**
+     * Where the report goes. It is opened only once the wallet is known to have something to report, so
+     * callers can still answer with an error instead of a half written body.
+     */
+    @FunctionalInterface
+    public interface ReportTarget {
+        OutputStream open(MediaType mediaType) throws IOException;
+    }
+
+    private final class StreamedContent extends WalletReportContent {
+        private final UUID userId;
+        private final WalletSummary summary;
+        private final ActiveBalanceAccumulator activeBalance = new ActiveBalanceAccumulator();
+
+        private StreamedContent(UUID userId, WalletSummary summary) {
+            this.userId = userId;
+            this.summary = summary;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            for (AssetType type : AssetType.values()) {
+                if (summary.getActiveCount(type) > 0 || summary.getWithdrawnCount(type) > 0) return false;
+            }
+            return true;
+        }
+
+        @Override
+        protected void visitActive(InvestmentVisitor visitor) throws IOException {
+            visit(action -> investmentExportService.forEachInvestment(userId, action), investment -> {
+                activeBalance.add(investment);
+                visitor.visit(investment);
+            });
+        }
+
+        @Override
+        protected void visitHistory(InvestmentVisitor visitor) throws IOException {
+            visit(action -> investmentExportService.forEachHistoryInvestment(userId, action), visitor);
+        }
+
+        @Override
+        protected double totalBalance() {
+            return (summary.getRealizedBalanceInCents() + activeBalance.balanceInCents()) / 100.0;
+        }
+
+        @Override
+        protected double futureBalance() {
+            return summary.getFutureBalanceInCents() / 100.0;
+        }
+
+        private static void visit(Consumer<Consumer<Investment>> source, InvestmentVisitor visitor) throws IOException {
+            try {
+                source.accept(investment -> {
+                    try {
+                        visitor.visit(investment);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
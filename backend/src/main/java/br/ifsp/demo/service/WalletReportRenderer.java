@@ -0,0 +1,101 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.domain.AssetType;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.Wallet;
+import br.ifsp.demo.util.DateFormatter;
+import br.ifsp.demo.util.DecimalFormatter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Renders the plain text wallet report straight into a {@link Writer}. Investments are walked once, counting
+ * asset types on the way, and numbers are written without building intermediate strings.
+ * The output matches {@link Investment#toString()} and {@link Asset#toString()} based rendering byte for byte.
+ */
+public class WalletReportRenderer {
+    private final Writer out;
+    private final DecimalFormatter decimals = new DecimalFormatter();
+
+    public WalletReportRenderer(Writer out) {
+        this.out = out;
+    }
+
+    public void render(Wallet wallet) throws IOException {
+        render(WalletReportContent.of(wallet));
+    }
+
+    public void render(WalletReportContent content) throws IOException {
+        if (content.isEmpty()) {
+            throw new NoSuchElementException("There are no investments in this wallet");
+        }
+
+        out.write("=========== WALLET REPORT ===========\n\n");
+        writeSection("> Active Investments:\n", content::forEachActive);
+        writeSection("> Historical Investments:\n", content::forEachHistory);
+
+        out.write("> Current Total Balance: R$ ");
+        decimals.writeTwoDecimals(content.getTotalBalance(), out);
+        out.write("\n> Future Investments Balance: R$ ");
+        decimals.writeTwoDecimals(content.getFutureBalance(), out);
+        out.write("\n\n> Investment by Type: \n");
+
+        Map<AssetType, Double> activePercentages = content.getActivePercentages();
+        if (!activePercentages.isEmpty()) {
+            out.write("- Active investments by type: \n");
+            writePercentages(activePercentages);
+            out.write('\n');
+        }
+        Map<AssetType, Double> historyPercentages = content.getHistoryPercentages();
+        if (!historyPercentages.isEmpty()) {
+            out.write("- Historical investments by type: \n");
+            writePercentages(historyPercentages);
+        }
+    }
+
+    private void writeSection(String title, Section section) throws IOException {
+        boolean[] started = {false};
+        section.forEach(investment -> {
+            if (!started[0]) {
+                out.write(title);
+                started[0] = true;
+            }
+            writeInvestment(investment);
+        });
+        if (started[0]) out.write('\n');
+    }
+
+    private void writeInvestment(Investment investment) throws IOException {
+        Asset asset = investment.getAsset();
+        out.write("- Initial value = R$ ");
+        decimals.writeTwoDecimals(investment.getInitialValue(), out);
+        out.write(" | Asset name = ");
+        out.write(String.valueOf(asset.getName()));
+        out.write(" | Type: ");
+        out.write(String.valueOf(asset.getAssetType()));
+        out.write(" | Asset profitability = ");
+        decimals.writeTwoDecimals(asset.getProfitability() * 100, out);
+        out.write("% | Asset maturity date = ");
+        DateFormatter.SLASH_FORMATTER.formatTo(asset.getMaturityDate(), out);
+        out.write('\n');
+    }
+
+    private void writePercentages(Map<AssetType, Double> percentages) throws IOException {
+        for (Map.Entry<AssetType, Double> entry : percentages.entrySet()) {
+            out.write(" | ");
+            out.write(entry.getKey().toString());
+            out.write(": ");
+            decimals.writeTwoDecimals(entry.getValue(), out);
+            out.write('%');
+        }
+    }
+
+    @FunctionalInterface
+    private interface Section {
+        void forEach(InvestmentVisitor visitor) throws IOException;
+    }
+}
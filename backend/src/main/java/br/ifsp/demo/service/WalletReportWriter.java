@@ -0,0 +1,17 @@
+package br.ifsp.demo.service;
+
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Serializes a {@link WalletReportContent} in one media type. Implementations are Spring beans picked by
+ * {@link WalletReportWriters} from the request {@code Accept} header; they must write rows as they are visited
+ * instead of buffering the whole report.
+ */
+public interface WalletReportWriter {
+    MediaType getMediaType();
+
+    void write(WalletReportContent content, OutputStream out) throws IOException;
+}
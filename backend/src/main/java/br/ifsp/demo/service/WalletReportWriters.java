@@ -0,0 +1,69 @@
+package br.ifsp.demo.service;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Picks the {@link WalletReportWriter} for a request {@code Accept} header, honouring quality values.
+ * A missing header or a wildcard falls back to the plain text report, and so does a quality tie that includes plain
+ * text, since clients such as axios accept JSON and plain text by default and still expect the text report.
+ */
+@Component
+public class WalletReportWriters {
+    private final List<WalletReportWriter> writers;
+    private final WalletReportWriter defaultWriter;
+
+    public WalletReportWriters(List<WalletReportWriter> writers) {
+        this.writers = List.copyOf(writers);
+        this.defaultWriter = this.writers.stream()
+                .filter(writer -> writer.getMediaType().isCompatibleWith(MediaType.TEXT_PLAIN))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("A plain text report writer is required"));
+    }
+
+    public WalletReportWriter select(String accept) throws HttpMediaTypeNotAcceptableException {
+        if (accept == null || accept.isBlank()) return defaultWriter;
+
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            throw new HttpMediaTypeNotAcceptableException(e.getMessage());
+        }
+        acceptedTypes.removeIf(accepted -> accepted.getQualityValue() == 0);
+        acceptedTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+
+        int tierStart = 0;
+        while (tierStart < acceptedTypes.size()) {
+            double quality = acceptedTypes.get(tierStart).getQualityValue();
+            int tierEnd = tierStart;
+            while (tierEnd < acceptedTypes.size() && acceptedTypes.get(tierEnd).getQualityValue() == quality) tierEnd++;
+            WalletReportWriter writer = select(acceptedTypes.subList(tierStart, tierEnd));
+            if (writer != null) return writer;
+            tierStart = tierEnd;
+        }
+        throw new HttpMediaTypeNotAcceptableException(supportedMediaTypes());
+    }
+
+    private WalletReportWriter select(List<MediaType> equallyPreferred) {
+        for (MediaType accepted : equallyPreferred) {
+            if (accepted.isCompatibleWith(defaultWriter.getMediaType())) return defaultWriter;
+        }
+        for (MediaType accepted : equallyPreferred) {
+            for (WalletReportWriter writer : writers) {
+                if (accepted.isCompatibleWith(writer.getMediaType())) return writer;
+            }
+        }
+        return null;
+    }
+
+    public List<MediaType> supportedMediaTypes() {
+        return writers.stream().map(WalletReportWriter::getMediaType).toList();
+    }
+}
@@ -1,29 +1,53 @@
 package br.ifsp.demo.service;
 
+import br.ifsp.demo.domain.Asset;
 import br.ifsp.demo.domain.AssetType;
+import br.ifsp.demo.domain.BalanceProjection;
 import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.InvestmentCursor;
+import br.ifsp.demo.domain.InvestmentFilter;
+import br.ifsp.demo.domain.InvestmentPage;
 import br.ifsp.demo.domain.Wallet;
+import br.ifsp.demo.domain.WalletSummary;
+import br.ifsp.demo.repository.InvestmentRepository;
 import br.ifsp.demo.repository.WalletRepository;
 import br.ifsp.demo.security.user.JpaUserRepository;
 import br.ifsp.demo.security.user.User;
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.UUID;
 
 @Service
+@Transactional(readOnly = true)
 public class WalletService {
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final WalletRepository repository;
     private final JpaUserRepository jpaUserRepository;
+    private final InvestmentRepository investmentRepository;
+    private final AssetService assetService;
+    private final EntityManager entityManager;
 
-    public WalletService(WalletRepository repository, JpaUserRepository jpaUserRepository) {
+    public WalletService(WalletRepository repository, JpaUserRepository jpaUserRepository,
+                         InvestmentRepository investmentRepository, AssetService assetService,
+                         EntityManager entityManager) {
         this.repository = repository;
         this.jpaUserRepository = jpaUserRepository;
+        this.investmentRepository = investmentRepository;
+        this.assetService = assetService;
+        this.entityManager = entityManager;
     }
 
+    @Transactional
     public Wallet createWallet(UUID userId) {
         Objects.requireNonNull(userId, "User id cannot be null");
 
@@ -34,27 +58,31 @@ public class WalletService {
             throw new IllegalStateException("User already has a wallet: " + userId);
         }
 
+        // The wallet carries an assigned id, so save would merge it and its new summary instead of inserting them.
         Wallet wallet = new Wallet();
         wallet.setUser(user);
-        return repository.save(wallet);
+        entityManager.persist(wallet);
+        return wallet;
     }
 
+    @Transactional
     public void addInvestment(UUID userId, Investment investment) {
         Objects.requireNonNull(userId, "User id cannot be null");
         Objects.requireNonNull(investment, "Investment cannot be null");
 
-        Wallet wallet = repository.findByUser_Id(userId)
+        Wallet wallet = repository.findWithInvestmentsByUser_Id(userId)
                 .orElseThrow(() -> new NoSuchElementException("This user has not a wallet: " + userId));
 
         wallet.addInvestment(investment);
         repository.save(wallet);
     }
 
+    @Transactional
     public void removeInvestment(UUID userId, UUID investmentId) {
         Objects.requireNonNull(userId, "User id cannot be null");
         Objects.requireNonNull(investmentId, "Investment id cannot be null");
 
-        Wallet wallet = repository.findByUser_Id(userId)
+        Wallet wallet = repository.findWithInvestmentsByUser_Id(userId)
                 .orElseThrow(() -> new NoSuchElementException("This user has not a wallet: " + userId));
 
         Investment investment = wallet.getInvestmentById(investmentId)
@@ -64,12 +92,13 @@ public class WalletService {
         repository.save(wallet);
     }
 
+    @Transactional
     public void withdrawInvestment(UUID userId, UUID investmentId, LocalDate withdrawDate) {
         Objects.requireNonNull(userId, "User id cannot be null");
         Objects.requireNonNull(investmentId, "Investment id cannot be null");
         Objects.requireNonNull(withdrawDate, "withdrawDate cannot be null");
 
-        Wallet wallet = repository.findByUser_Id(userId)
+        Wallet wallet = repository.findWithInvestmentsByUser_Id(userId)
                 .orElseThrow(() -> new NoSuchElementException("This user has not a wallet: " + userId));
 
         Investment investment = wallet.getInvestmentById(investmentId)
@@ -81,7 +110,7 @@ public class WalletService {
 
     public List<Investment> getInvestments(UUID userId) {
         Objects.requireNonNull(userId, "User id cannot be null");
-        Wallet wallet = repository.findByUser_Id(userId)
+        Wallet wallet = repository.findWithInvestmentsByUser_Id(userId)
                 .orElseThrow(() -> new NoSuchElementException("This user has not a wallet: " + userId));
 
         return wallet.getInvestments();
@@ -89,7 +118,7 @@ public class WalletService {
 
     public List<Investment> getHistoryInvestments(UUID userId) {
         Objects.requireNonNull(userId, "User id cannot be null");
-        Wallet wallet = repository.findByUser_Id(userId)
+        Wallet wallet = repository.findWithInvestmentsByUser_Id(userId)
                 .orElseThrow(() -> new NoSuchElementException("This user has not a wallet: " + userId));
 
         return wallet.getHistoryInvestments();
@@ -99,9 +128,7 @@ public class WalletService {
         Objects.requireNonNull(userId, "User id cannot be null");
         Objects.requireNonNull(assetType, "AssetType cannot be null");
 
-        return getHistoryInvestments(userId).stream()
-                .filter(investment -> investment.getAsset().getAssetType() == assetType)
-                .toList();
+        return requireWallet(userId, investmentRepository.findHistoryByUserIdAndAssetType(userId, assetType));
     }
 
     public List<Investment> filterHistory(UUID userId, LocalDate initialDate, LocalDate finalDate) {
@@ -109,22 +136,15 @@ public class WalletService {
         Objects.requireNonNull(initialDate, "initialDate cannot be null");
         Objects.requireNonNull(finalDate, "finalDate cannot be null");
 
-        return getHistoryInvestments(userId).stream()
-                .filter(investment -> {
-                    LocalDate d = investment.getPurchaseDate();
-                    // d >= initialDate  &&  d <= finalDate
-                    return !d.isBefore(initialDate) && !d.isAfter(finalDate);
-                })
-                .toList();
+        return requireWallet(userId,
+                investmentRepository.findHistoryByUserIdAndPurchaseDateBetween(userId, initialDate, finalDate));
     }
 
     public List<Investment> filterActiveInvestments(UUID userId, AssetType assetType) {
         Objects.requireNonNull(userId, "User id cannot be null");
         Objects.requireNonNull(assetType, "assetType cannot be null");
 
-        return getInvestments(userId).stream()
-                .filter(investment -> investment.getAsset().getAssetType() == assetType)
-                .toList();
+        return requireWallet(userId, investmentRepository.findActiveByUserIdAndAssetType(userId, assetType));
     }
 
     public List<Investment> filterActiveInvestments(UUID userId, LocalDate initialDate, LocalDate finalDate) {
@@ -132,29 +152,60 @@ public class WalletService {
         Objects.requireNonNull(initialDate, "initialDate cannot be null");
         Objects.requireNonNull(finalDate, "finalDate cannot be null");
 
-        return getInvestments(userId).stream()
-                .filter(investment -> {
-                    LocalDate d = investment.getPurchaseDate();
-                    // d >= initialDate  &&  d <= finalDate
-                    return !d.isBefore(initialDate) && !d.isAfter(finalDate);
-                })
-                .toList();
+        return requireWallet(userId,
+                investmentRepository.findActiveByUserIdAndPurchaseDateBetween(userId, initialDate, finalDate));
+    }
+
+    public InvestmentPage getInvestmentsPage(UUID userId, InvestmentFilter filter, InvestmentCursor after, int size) {
+        return findPage(userId, filter, after, size, investmentRepository::findActivePage);
+    }
+
+    public InvestmentPage getHistoryPage(UUID userId, InvestmentFilter filter, InvestmentCursor after, int size) {
+        return findPage(userId, filter, after, size, investmentRepository::findHistoryPage);
+    }
+
+    private InvestmentPage findPage(UUID userId, InvestmentFilter filter, InvestmentCursor after, int size, PageQuery query) {
+        Objects.requireNonNull(userId, "User id cannot be null");
+        Objects.requireNonNull(filter, "Filter cannot be null");
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+
+        List<Investment> fetched = query.find(userId, filter, after, size + 1);
+        return InvestmentPage.of(requireWallet(userId, fetched), size);
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        List<Investment> find(UUID userId, InvestmentFilter filter, InvestmentCursor after, int limit);
+    }
+
+    private List<Investment> requireWallet(UUID userId, List<Investment> investments) {
+        if (investments.isEmpty() && !repository.existsByUser_Id(userId))
+            throw new NoSuchElementException("This user has not a wallet: " + userId);
+        return investments;
     }
 
     public String generateReport(UUID userId) {
         Objects.requireNonNull(userId, "User id cannot be null");
 
-        Wallet wallet = repository.findByUser_Id(userId)
+        Wallet wallet = repository.findWithInvestmentsByUser_Id(userId)
                 .orElseThrow(() -> new NoSuchElementException("This user has not a wallet: " + userId));
 
         WalletReportService walletReportService = new WalletReportService(wallet);
         return walletReportService.generateReport();
     }
 
+    public void writeReport(UUID userId, Writer writer) throws IOException {
+        Objects.requireNonNull(userId, "User id cannot be null");
+
+        Wallet wallet = getWallet(userId);
+        new WalletReportService(wallet).writeReport(writer);
+    }
+
     public Wallet getWallet(UUID userId) {
         Objects.requireNonNull(userId, "User id cannot be null");
 
-        return repository.findByUser_Id(userId)
+        return repository.findWithInvestmentsByUser_Id(userId)
                 .orElseThrow(() -> new NoSuchElementException("This user has not a wallet: " + userId));
     }
 
@@ -170,14 +221,26 @@ public class WalletService {
     public double getTotalBalance(UUID userId) {
         Objects.requireNonNull(userId, "User id cannot be null");
 
+        WalletSummary summary = repository.findWithSummaryByUser_Id(userId)
+                .orElseThrow(() -> new NoSuchElementException("This user has not a wallet: " + userId))
+                .getSummary();
+        Map<UUID, Asset> assets = assetService.getAssetsByIds(summary.getActiveAssetIds());
+        long activeInCents = summary.getActiveBalanceInCents(assets, LocalDate.now());
+        return (summary.getRealizedBalanceInCents() + activeInCents) / 100.0;
+    }
+
+    public BalanceProjection getBalanceProjection(UUID userId, LocalDate from, LocalDate to, int stepDays) {
+        Objects.requireNonNull(userId, "User id cannot be null");
+
         Wallet wallet = getWallet(userId);
-        return wallet.getTotalBalance();
+        return wallet.getBalanceProjection(from, to, stepDays);
     }
 
     public double getFutureBalance(UUID userId) {
         Objects.requireNonNull(userId, "User id cannot be null");
 
-        Wallet wallet = getWallet(userId);
+        Wallet wallet = repository.findWithSummaryByUser_Id(userId)
+                .orElseThrow(() -> new NoSuchElementException("This user has not a wallet: " + userId));
         return wallet.getFutureBalance();
     }
 }
@@ -0,0 +1,29 @@
+package br.ifsp.demo.util;
+
+/**
+ * Kahan-Babuska (Neumaier) summation: keeps the low-order bits lost by each addition in a separate
+ * compensation term, so the error does not grow with the number of terms.
+ */
+public final class CompensatedSum {
+    private double sum;
+    private double compensation;
+
+    public void add(double value) {
+        double total = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) compensation += (sum - total) + value;
+        else compensation += (value - total) + sum;
+        sum = total;
+    }
+
+    public static void add(double[] sums, double[] compensations, int index, double value) {
+        double sum = sums[index];
+        double total = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) compensations[index] += (sum - total) + value;
+        else compensations[index] += (value - total) + sum;
+        sums[index] = total;
+    }
+
+    public double value() {
+        return sum + compensation;
+    }
+}
@@ -0,0 +1,71 @@
+package br.ifsp.demo.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Allocation-free monthly compounding used to value investments.
+ * Results match the original BigDecimal implementation to the cent: elapsed time is rounded to
+ * ten decimal places in integer arithmetic and only ambiguous half-cent ties fall back to BigDecimal.
+ */
+public final class CompoundInterestCalculator {
+    private static final long DAYS_PER_PERIOD = 30;
+    private static final long TIME_SCALE = 10_000_000_000L;
+    private static final double TIME_SCALE_DOUBLE = 1e10;
+    private static final long MAX_EXACT_DAYS = 27_000_000;
+    private static final double MAX_EXACT_CENTS = 0x1p52;
+    private static final long UNRESOLVED = Long.MIN_VALUE;
+
+    private CompoundInterestCalculator() {
+    }
+
+    public static double growthFactor(double profitability) {
+        return BigDecimal.valueOf(profitability).add(BigDecimal.ONE).doubleValue();
+    }
+
+    public static double periods(long days) {
+        if (Math.abs(days) > MAX_EXACT_DAYS) {
+            return BigDecimal.valueOf(days)
+                    .divide(BigDecimal.valueOf(30.0), 10, RoundingMode.HALF_UP)
+                    .doubleValue();
+        }
+        long scaled = (Math.abs(days) * TIME_SCALE + DAYS_PER_PERIOD / 2) / DAYS_PER_PERIOD;
+        return (days < 0 ? -scaled : scaled) / TIME_SCALE_DOUBLE;
+    }
+
+    public static long balanceInCents(double initialValue, double growthFactor, long days) {
+        return balanceInCents(initialValue, compound(growthFactor, days));
+    }
+
+    public static double compound(double growthFactor, long days) {
+        return Math.pow(growthFactor, periods(days));
+    }
+
+    public static long balanceInCents(double initialValue, double compound) {
+        long cents = roundToCents(initialValue, compound);
+        if (cents != UNRESOLVED) return cents;
+        return exactBalance(initialValue, compound).unscaledValue().longValueExact();
+    }
+
+    public static double balance(double initialValue, double growthFactor, long days) {
+        double compound = compound(growthFactor, days);
+        long cents = roundToCents(initialValue, compound);
+        if (cents != UNRESOLVED) return cents / 100.0;
+        return exactBalance(initialValue, compound).doubleValue();
+    }
+
+    private static long roundToCents(double initialValue, double compound) {
+        double scaled = initialValue * compound * 100.0;
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+
+        if (scaled >= MAX_EXACT_CENTS || Math.abs(fraction - 0.5) <= 4 * Math.ulp(scaled)) return UNRESOLVED;
+        return (long) floor + (fraction > 0.5 ? 1 : 0);
+    }
+
+    private static BigDecimal exactBalance(double initialValue, double compound) {
+        return BigDecimal.valueOf(initialValue)
+                .multiply(BigDecimal.valueOf(compound))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+}
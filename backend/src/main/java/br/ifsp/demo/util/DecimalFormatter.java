@@ -0,0 +1,60 @@
+package br.ifsp.demo.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Writes values exactly as {@code String.format(locale, "%.2f", value)} would, without going through
+ * {@link java.util.Formatter}. Digits are produced from the value in cents into a reused buffer; values too
+ * large for exact cents or too close to a half cent to round safely fall back to {@code String.format}.
+ * Not thread safe.
+ */
+public final class DecimalFormatter {
+    private static final double MAX_EXACT_CENTS = 0x1p52;
+
+    private final Locale locale;
+    private final char zeroDigit;
+    private final char decimalSeparator;
+    private final char[] buffer = new char[24];
+
+    public DecimalFormatter() {
+        this(Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    public DecimalFormatter(Locale locale) {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        this.locale = locale;
+        this.zeroDigit = symbols.getZeroDigit();
+        this.decimalSeparator = symbols.getDecimalSeparator();
+    }
+
+    public void writeTwoDecimals(double value, Writer out) throws IOException {
+        double scaled = Math.abs(value) * 100.0;
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        if (!(scaled < MAX_EXACT_CENTS) || Math.abs(fraction - 0.5) <= 4 * Math.ulp(scaled)) {
+            out.write(String.format(locale, "%.2f", value));
+            return;
+        }
+
+        long cents = (long) floor + (fraction > 0.5 ? 1 : 0);
+        int position = buffer.length;
+        buffer[--position] = digit(cents % 10);
+        cents /= 10;
+        buffer[--position] = digit(cents % 10);
+        cents /= 10;
+        buffer[--position] = decimalSeparator;
+        do {
+            buffer[--position] = digit(cents % 10);
+            cents /= 10;
+        } while (cents > 0);
+        if (Math.copySign(1.0, value) < 0) buffer[--position] = '-';
+        out.write(buffer, position, buffer.length - position);
+    }
+
+    private char digit(long value) {
+        return (char) (zeroDigit + value);
+    }
+}
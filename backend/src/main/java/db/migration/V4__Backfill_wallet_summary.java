@@ -0,0 +1,86 @@
+package db.migration;
+
+import br.ifsp.demo.util.CompoundInterestCalculator;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Backfills {@code wallet_summary} and {@code wallet_summary_asset_type} for wallets created before V3. Counts are
+ * copied with {@code INSERT ... SELECT}; balances go through {@link CompoundInterestCalculator} so they carry the same
+ * cents the application keeps up to date afterwards. Wallets that already have a summary are left untouched.
+ */
+public class V4__Backfill_wallet_summary extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("""
+                    CREATE TEMP TABLE backfill_wallet AS
+                    SELECT w.id FROM wallet w
+                    WHERE NOT EXISTS (SELECT 1 FROM wallet_summary s WHERE s.wallet_id = w.id)""");
+            statement.executeUpdate("""
+                    INSERT INTO wallet_summary (wallet_id, future_balance_cents, realized_balance_cents)
+                    SELECT id, 0, 0 FROM backfill_wallet""");
+            statement.executeUpdate("""
+                    INSERT INTO wallet_summary_asset_type (wallet_id, asset_type, active_count, withdrawn_count)
+                    SELECT i.wallet_id,
+                           a.asset_type,
+                           SUM(CASE WHEN i.withdraw_date IS NULL THEN 1 ELSE 0 END),
+                           SUM(CASE WHEN i.withdraw_date IS NULL THEN 0 ELSE 1 END)
+                    FROM investment i
+                    JOIN asset a ON a.id = i.asset_id
+                    JOIN backfill_wallet b ON b.id = i.wallet_id
+                    GROUP BY i.wallet_id, a.asset_type""");
+            updateBalances(connection);
+            statement.executeUpdate("DROP TABLE backfill_wallet");
+        }
+    }
+
+    private static void updateBalances(Connection connection) throws Exception {
+        Map<String, long[]> balances = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet investments = statement.executeQuery("""
+                     SELECT i.wallet_id, i.initial_value, i.purchase_date, i.withdraw_date,
+                            a.profitability, a.maturity_date
+                     FROM investment i
+                     JOIN asset a ON a.id = i.asset_id
+                     JOIN backfill_wallet b ON b.id = i.wallet_id""")) {
+            while (investments.next()) {
+                LocalDate purchaseDate = investments.getDate("purchase_date").toLocalDate();
+                java.sql.Date withdrawDate = investments.getDate("withdraw_date");
+                LocalDate valuedAt = withdrawDate != null
+                        ? withdrawDate.toLocalDate()
+                        : investments.getDate("maturity_date").toLocalDate();
+                long cents = CompoundInterestCalculator.balanceInCents(
+                        investments.getDouble("initial_value"),
+                        CompoundInterestCalculator.growthFactor(investments.getDouble("profitability")),
+                        ChronoUnit.DAYS.between(purchaseDate, valuedAt));
+                long[] balance = balances.computeIfAbsent(investments.getString("wallet_id"), id -> new long[2]);
+                balance[withdrawDate != null ? 1 : 0] += cents;
+            }
+        }
+
+        try (PreparedStatement update = connection.prepareStatement("""
+                UPDATE wallet_summary
+                SET future_balance_cents = ?, realized_balance_cents = ?
+                WHERE wallet_id = ?""")) {
+            for (Map.Entry<String, long[]> balance : balances.entrySet()) {
+                update.setLong(1, balance.getValue()[0]);
+                update.setLong(2, balance.getValue()[1]);
+                update.setString(3, balance.getKey());
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package db.migration;
+
+import br.ifsp.demo.util.CompoundInterestCalculator;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Backfills {@code wallet_summary_asset} with the discounted value of the active investments of every wallet and
+ * asset, anchored at the asset maturity date like {@link br.ifsp.demo.domain.DiscountedBalance}. Rows and counts
+ * are created with {@code INSERT ... SELECT}; the values go through {@link CompoundInterestCalculator}.
+ */
+public class V6__Backfill_wallet_summary_asset extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("""
+                    INSERT INTO wallet_summary_asset (wallet_id, asset_id, anchor_date, discounted_value, active_count)
+                    SELECT i.wallet_id, i.asset_id, COALESCE(a.maturity_date, MIN(i.purchase_date)), 0, COUNT(*)
+                    FROM investment i
+                    JOIN asset a ON a.id = i.asset_id
+                    JOIN wallet_summary s ON s.wallet_id = i.wallet_id
+                    WHERE i.withdraw_date IS NULL
+                    GROUP BY i.wallet_id, i.asset_id""");
+        }
+        updateDiscountedValues(connection);
+    }
+
+    private static void updateDiscountedValues(Connection connection) throws Exception {
+        Map<WalletAsset, Double> values = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet investments = statement.executeQuery("""
+                     SELECT i.wallet_id, i.asset_id, i.initial_value, i.purchase_date, a.profitability, d.anchor_date
+                     FROM investment i
+                     JOIN asset a ON a.id = i.asset_id
+                     JOIN wallet_summary_asset d ON d.wallet_id = i.wallet_id AND d.asset_id = i.asset_id
+                     WHERE i.withdraw_date IS NULL""")) {
+            while (investments.next()) {
+                LocalDate purchaseDate = investments.getDate("purchase_date").toLocalDate();
+                LocalDate anchorDate = investments.getDate("anchor_date").toLocalDate();
+                double discounted = investments.getDouble("initial_value") * CompoundInterestCalculator.compound(
+                        CompoundInterestCalculator.growthFactor(investments.getDouble("profitability")),
+                        ChronoUnit.DAYS.between(purchaseDate, anchorDate));
+                values.merge(new WalletAsset(investments.getString("wallet_id"), investments.getString("asset_id")),
+                        discounted, Double::sum);
+            }
+        }
+
+        try (PreparedStatement update = connection.prepareStatement("""
+                UPDATE wallet_summary_asset
+                SET discounted_value = ?
+                WHERE wallet_id = ? AND asset_id = ?""")) {
+            for (Map.Entry<WalletAsset, Double> value : values.entrySet()) {
+                update.setDouble(1, value.getValue());
+                update.setString(2, value.getKey().walletId());
+                update.setString(3, value.getKey().assetId());
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+    }
+
+    private record WalletAsset(String walletId, String assetId) {
+    }
+}
@@ -0,0 +1,25 @@
+CREATE TABLE investment_new (
+    initial_value  FLOAT,
+    purchase_date  DATE,
+    withdraw_date  DATE,
+    asset_id       VARCHAR(36) NOT NULL,
+    id             VARCHAR(36) PRIMARY KEY,
+    wallet_id      VARCHAR(36),
+    FOREIGN KEY (asset_id)
+        REFERENCES asset(id),
+    FOREIGN KEY (wallet_id)
+        REFERENCES wallet(id)
+        ON DELETE CASCADE
+);
+
+INSERT INTO investment_new (initial_value, purchase_date, withdraw_date, asset_id, id, wallet_id)
+SELECT initial_value, purchase_date, withdraw_date, asset_id, id, wallet_id
+FROM investment;
+
+DROP TABLE investment;
+ALTER TABLE investment_new RENAME TO investment;
+
+CREATE INDEX idx_investment_wallet_withdraw_date ON investment (wallet_id, withdraw_date);
+CREATE INDEX idx_investment_wallet_purchase_date ON investment (wallet_id, purchase_date, id);
+CREATE INDEX idx_investment_asset ON investment (asset_id);
+CREATE INDEX idx_app_user_email ON app_user (email);
@@ -0,0 +1,19 @@
+CREATE TABLE wallet_summary (
+    wallet_id              VARCHAR(36) PRIMARY KEY,
+    future_balance_cents   BIGINT      NOT NULL,
+    realized_balance_cents BIGINT      NOT NULL,
+    FOREIGN KEY (wallet_id)
+        REFERENCES wallet(id)
+        ON DELETE CASCADE
+);
+
+CREATE TABLE wallet_summary_asset_type (
+    wallet_id       VARCHAR(36)  NOT NULL,
+    asset_type      VARCHAR(255) NOT NULL CHECK (asset_type IN ('TESOURO_DIRETO','CDB','LCI','LCA','CRI','CRA')),
+    active_count    BIGINT       NOT NULL,
+    withdrawn_count BIGINT       NOT NULL,
+    PRIMARY KEY (wallet_id, asset_type),
+    FOREIGN KEY (wallet_id)
+        REFERENCES wallet_summary(wallet_id)
+        ON DELETE CASCADE
+);
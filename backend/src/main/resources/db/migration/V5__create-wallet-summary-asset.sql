@@ -0,0 +1,13 @@
+CREATE TABLE wallet_summary_asset (
+    wallet_id        VARCHAR(36) NOT NULL,
+    asset_id         VARCHAR(36) NOT NULL,
+    anchor_date      DATE        NOT NULL,
+    discounted_value FLOAT       NOT NULL,
+    active_count     BIGINT      NOT NULL,
+    PRIMARY KEY (wallet_id, asset_id),
+    FOREIGN KEY (wallet_id)
+        REFERENCES wallet_summary(wallet_id)
+        ON DELETE CASCADE,
+    FOREIGN KEY (asset_id)
+        REFERENCES asset(id)
+);
@@ -0,0 +1,99 @@
+package br.ifsp.demo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConnectionPoolConcurrencyFilterTest {
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should answer 503 when every permit stays busy past the timeout")
+    void shouldAnswer503WhenEveryPermitStaysBusyPastTheTimeout() throws Exception {
+        ConnectionPoolConcurrencyFilter sut = new ConnectionPoolConcurrencyFilter(1, Duration.ofMillis(50));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blocking = (request, response) -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> first = executor.submit(() -> {
+                sut.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), blocking);
+                return null;
+            });
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            sut.doFilter(new MockHttpServletRequest(), rejected, (request, response) -> { });
+
+            assertThat(rejected.getStatus()).isEqualTo(503);
+            assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+            assertThat(sut.getInFlight()).isEqualTo(1);
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(sut.getInFlight()).isZero();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Should release the permit when the request fails")
+    void shouldReleaseThePermitWhenTheRequestFails() {
+        ConnectionPoolConcurrencyFilter sut = new ConnectionPoolConcurrencyFilter(1, Duration.ofMillis(50));
+
+        assertThatThrownBy(() -> sut.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (request, response) -> {
+                    throw new ServletException("boom");
+                }))
+                .isInstanceOf(ServletException.class);
+        assertThat(sut.getInFlight()).isZero();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Should keep the permit until an async request completes")
+    void shouldKeepThePermitUntilAnAsyncRequestCompletes() throws Exception {
+        ConnectionPoolConcurrencyFilter sut = new ConnectionPoolConcurrencyFilter(2, Duration.ofMillis(50));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+
+        sut.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> servletRequest.startAsync());
+
+        assertThat(sut.getInFlight()).isEqualTo(1);
+        request.getAsyncContext().complete();
+        assertThat(sut.getInFlight()).isZero();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should not accept a non positive limit")
+    void shouldNotAcceptANonPositiveLimit() {
+        assertThatThrownBy(() -> new ConnectionPoolConcurrencyFilter(0, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,145 @@
+package br.ifsp.demo.config;
+
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.security.user.JpaUserRepository;
+import br.ifsp.demo.security.user.Role;
+import br.ifsp.demo.security.user.User;
+import br.ifsp.demo.service.AssetService;
+import br.ifsp.demo.service.WalletService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("prod")
+@DirtiesContext
+class SqliteDataSourceConcurrencyTest {
+    private static final int USERS = 8;
+    private static final int OPERATIONS = 25;
+    private static final Path DATABASE = createDatabasePath();
+
+    @Autowired
+    private WalletService walletService;
+    @Autowired
+    private AssetService assetService;
+    @Autowired
+    private JpaUserRepository userRepository;
+    @Autowired
+    @Qualifier("writeDataSource")
+    private HikariDataSource writeDataSource;
+    @Autowired
+    @Qualifier("readDataSource")
+    private HikariDataSource readDataSource;
+
+    private static Path createDatabasePath() {
+        try {
+            return Files.createTempDirectory("sqlite-concurrency").resolve("database.db");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        String pragmas = "busy_timeout=5000&cache_size=-16000&mmap_size=268435456&foreign_keys=true";
+        registry.add("spring.datasource.url",
+                () -> "jdbc:sqlite:" + DATABASE + "?journal_mode=WAL&synchronous=NORMAL&" + pragmas);
+        registry.add("application.datasource.read-url",
+                () -> "jdbc:sqlite:" + DATABASE + "?jdbc.explicit_readonly=true&" + pragmas);
+    }
+
+    private static LongAdder countAcquisitions(HikariDataSource dataSource) {
+        LongAdder acquisitions = new LongAdder();
+        dataSource.setMetricsTrackerFactory((poolName, poolStats) -> new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquisitions.increment();
+            }
+        });
+        return acquisitions;
+    }
+
+    private UUID createUserWithWallet(int index) {
+        UUID id = UUID.randomUUID();
+        userRepository.save(User.builder()
+                .id(id)
+                .name("John")
+                .lastname("Snow")
+                .email("user" + index + "-" + id + "@snow.com")
+                .password("secret")
+                .role(Role.USER)
+                .build());
+        walletService.createWallet(id);
+        return id;
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should serve concurrent reads and writes without lock errors")
+    void shouldServeConcurrentReadsAndWritesWithoutLockErrors() throws InterruptedException {
+        Asset asset = assetService.getAssetById(UUID.fromString("5bbff5c5-e4df-4e37-9f46-5cdc332f1f70"));
+        List<UUID> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) users.add(createUserWithWallet(i));
+
+        LongAdder writes = countAcquisitions(writeDataSource);
+        LongAdder reads = countAcquisitions(readDataSource);
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(USERS * 2);
+        long start = System.nanoTime();
+        for (UUID userId : users) {
+            executor.submit(() -> {
+                try {
+                    for (int i = 0; i < OPERATIONS; i++)
+                        walletService.addInvestment(userId, new Investment(100 + i, asset));
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+            executor.submit(() -> {
+                try {
+                    for (int i = 0; i < OPERATIONS * 4; i++) {
+                        walletService.getInvestments(userId);
+                        walletService.getTotalBalance(userId);
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(errors).as("errors after %d ms", elapsedMillis).isEmpty();
+        assertThat(readDataSource.isReadOnly()).isTrue();
+        assertThat(reads.sum()).isGreaterThanOrEqualTo(USERS * OPERATIONS * 8L);
+        assertThat(writes.sum()).isGreaterThanOrEqualTo(USERS * OPERATIONS).isLessThan(reads.sum());
+        users.forEach(userId -> assertThat(walletService.getInvestments(userId)).hasSize(OPERATIONS));
+    }
+}
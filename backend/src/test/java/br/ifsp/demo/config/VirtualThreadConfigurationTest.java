@@ -0,0 +1,41 @@
+package br.ifsp.demo.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VirtualThreadConfigurationTest {
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should default to the pooled connections left by the report workers")
+    void shouldDefaultToThePooledConnectionsLeftByTheReportWorkers() {
+        assertThat(VirtualThreadConfiguration.maxInFlight(null, 5, 2)).isEqualTo(3);
+        assertThat(VirtualThreadConfiguration.maxInFlight(null, 1 + 4, 0)).isEqualTo(5);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should accept a configured limit below the available connections")
+    void shouldAcceptAConfiguredLimitBelowTheAvailableConnections() {
+        assertThat(VirtualThreadConfiguration.maxInFlight(2, 5, 2)).isEqualTo(2);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Should reject limits the connection pools cannot serve")
+    void shouldRejectLimitsTheConnectionPoolsCannotServe() {
+        assertThatThrownBy(() -> VirtualThreadConfiguration.maxInFlight(4, 5, 2))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> VirtualThreadConfiguration.maxInFlight(null, 2, 2))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> VirtualThreadConfiguration.maxInFlight(0, 5, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,153 @@
+package br.ifsp.demo.domain;
+
+import br.ifsp.demo.util.EffectiveWithdrawDateResolver;
+import org.assertj.core.api.SoftAssertions;
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActiveBalanceAccumulatorTest {
+    private final LocalDate valuationDate = LocalDate.of(2025, 4, 25);
+    private final EffectiveWithdrawDateResolver resolver = new EffectiveWithdrawDateResolver() {
+        @Override
+        public LocalDate resolve(LocalDate withdrawDate) {
+            return withdrawDate != null ? withdrawDate : valuationDate;
+        }
+    };
+
+    private List<Asset> assets(Random random, int count) {
+        List<Asset> assets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            double profitability = (random.nextInt(100) + 100) / 10_000.0;
+            assets.add(new Asset("Asset " + i, AssetType.values()[i % AssetType.values().length], profitability, valuationDate.plusYears(3)));
+        }
+        return assets;
+    }
+
+    private Investment randomInvestment(Random random, Asset asset) {
+        double initialValue = Math.round(random.nextDouble() * 10_000_000) / 100.0 + 0.01;
+        LocalDate purchaseDate = valuationDate.minusDays(random.nextInt(1_500));
+        return new Investment(initialValue, asset, purchaseDate, resolver);
+    }
+
+    private static long perInvestmentCents(List<Investment> investments) {
+        return investments.stream().mapToLong(Investment::calculateCurrentBalanceInCents).sum();
+    }
+
+    private static Offset<Long> halfACentPer(List<Investment> investments) {
+        return Offset.offset(investments.size() / 2L);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should match the per investment balance to the cent when each asset has a single investment")
+    void shouldMatchThePerInvestmentBalanceToTheCentWhenEachAssetHasASingleInvestment() {
+        Random random = new Random(20250425L);
+        SoftAssertions softly = new SoftAssertions();
+
+        for (int i = 0; i < 10_000; i++) {
+            Investment investment = randomInvestment(random, assets(random, 1).get(0));
+            long grouped = new ActiveBalanceAccumulator(List.of(investment)).balanceInCents();
+            if (grouped != investment.calculateCurrentBalanceInCents()) {
+                softly.fail("Mismatch for %s purchased at %s: expected %s but was %s", investment,
+                        investment.getPurchaseDate(), investment.calculateCurrentBalanceInCents(), grouped);
+            }
+        }
+        softly.assertAll();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should stay within half a cent per investment of the per investment balances")
+    void shouldStayWithinHalfACentPerInvestmentOfThePerInvestmentBalances() {
+        Random random = new Random(42L);
+        List<Asset> assets = assets(random, 6);
+        List<Investment> investments = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            investments.add(randomInvestment(random, assets.get(random.nextInt(assets.size()))));
+        }
+
+        ActiveBalanceAccumulator sut = new ActiveBalanceAccumulator(investments);
+        long grouped = sut.balanceInCents();
+
+        assertThat(sut.groupCount()).isEqualTo(assets.size());
+        assertThat(grouped).isCloseTo(perInvestmentCents(investments), halfACentPer(investments));
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should not depend on the order investments are added in")
+    void shouldNotDependOnTheOrderInvestmentsAreAddedIn() {
+        Random random = new Random(11L);
+        List<Asset> assets = assets(random, 3);
+        List<Investment> investments = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            investments.add(randomInvestment(random, assets.get(i % assets.size())));
+        }
+        List<Investment> shuffled = new ArrayList<>(investments);
+        Collections.shuffle(shuffled, random);
+
+        assertThat(new ActiveBalanceAccumulator(shuffled).balanceInCents())
+                .isEqualTo(new ActiveBalanceAccumulator(investments).balanceInCents());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should keep the balance consistent when investments are removed")
+    void shouldKeepTheBalanceConsistentWhenInvestmentsAreRemoved() {
+        Random random = new Random(7L);
+        List<Asset> assets = assets(random, 3);
+        List<Investment> investments = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            investments.add(randomInvestment(random, assets.get(i % assets.size())));
+        }
+        ActiveBalanceAccumulator sut = new ActiveBalanceAccumulator(investments);
+
+        List<Investment> remaining = new ArrayList<>(investments);
+        for (int i = 0; i < 900; i++) {
+            sut.remove(remaining.remove(random.nextInt(remaining.size())));
+        }
+
+        assertThat(sut.balanceInCents()).isCloseTo(perInvestmentCents(remaining), halfACentPer(remaining));
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Should drop a group when its last investment is removed")
+    void shouldDropAGroupWhenItsLastInvestmentIsRemoved() {
+        Asset asset = new Asset("Banco Inter", AssetType.CDB, 0.1, valuationDate.plusYears(1));
+        Investment investment = new Investment(1000, asset, valuationDate.minusDays(40), resolver);
+        ActiveBalanceAccumulator sut = new ActiveBalanceAccumulator(List.of(investment));
+
+        sut.remove(investment);
+
+        assertThat(sut.groupCount()).isZero();
+        assertThat(sut.balanceInCents()).isZero();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Should ignore withdrawn investments")
+    void shouldIgnoreWithdrawnInvestments() {
+        Asset asset = new Asset("Banco Inter", AssetType.CDB, 0.1, valuationDate.plusYears(1));
+        Investment investment = new Investment(1000, asset, valuationDate.minusDays(40), resolver);
+        investment.setWithdrawDate(valuationDate);
+
+        assertThat(new ActiveBalanceAccumulator(List.of(investment)).groupCount()).isZero();
+    }
+}
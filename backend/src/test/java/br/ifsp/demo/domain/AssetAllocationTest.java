@@ -0,0 +1,81 @@
+package br.ifsp.demo.domain;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static br.ifsp.demo.domain.AssetType.*;
+import static br.ifsp.demo.domain.InvestmentFactory.createInvestmentWithPurchaseDateAndMockWithdraw;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AssetAllocationTest {
+    private final LocalDate date = LocalDate.of(2025, 4, 25);
+
+    private Investment investment(double value, AssetType type) {
+        Asset asset = new Asset("Banco Inter", type, 0.1, date.plusMonths(2));
+        return createInvestmentWithPurchaseDateAndMockWithdraw(value, asset, date, date);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should compute count percentages for every asset type in declaration order")
+    void shouldComputeCountPercentagesForEveryAssetTypeInDeclarationOrder() {
+        List<Investment> investments = List.of(investment(1000, CDB), investment(1000, CDB), investment(1000, LCI), investment(1000, CRA));
+
+        Map<AssetType, Double> percentages = AssetAllocation.byCount(investments).countPercentages();
+
+        assertThat(percentages.keySet()).containsExactly(AssetType.values());
+        SoftAssertions softly = new SoftAssertions();
+        softly.assertThat(percentages.get(CDB)).isEqualTo(50.0);
+        softly.assertThat(percentages.get(LCI)).isEqualTo(25.0);
+        softly.assertThat(percentages.get(CRA)).isEqualTo(25.0);
+        softly.assertThat(percentages.get(TESOURO_DIRETO)).isEqualTo(0.0);
+        softly.assertAll();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should compute count and balance percentages in a single allocation")
+    void shouldComputeCountAndBalancePercentagesInASingleAllocation() {
+        List<Investment> investments = List.of(investment(3000, CDB), investment(1000, LCA));
+
+        AssetAllocation allocation = AssetAllocation.byCountAndBalance(investments);
+
+        SoftAssertions softly = new SoftAssertions();
+        softly.assertThat(allocation.countPercentages().get(CDB)).isEqualTo(50.0);
+        softly.assertThat(allocation.balancePercentages().get(CDB)).isEqualTo(75.0);
+        softly.assertThat(allocation.balancePercentages().get(LCA)).isEqualTo(25.0);
+        softly.assertThat(allocation.getBalanceInCents(CDB)).isEqualTo(300000L);
+        softly.assertThat(allocation.getCount(LCA)).isEqualTo(1L);
+        softly.assertAll();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Should return empty percentages when there are no investments")
+    void shouldReturnEmptyPercentagesWhenThereAreNoInvestments() {
+        AssetAllocation allocation = AssetAllocation.byCountAndBalance(List.of());
+
+        assertThat(allocation.countPercentages()).isEmpty();
+        assertThat(allocation.balancePercentages()).isEmpty();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Should throw NullPointerException when investments are null")
+    void shouldThrowNullPointerExceptionWhenInvestmentsAreNull() {
+        assertThatThrownBy(() -> AssetAllocation.byCount(null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Investment storage cannot be null");
+    }
+}
@@ -0,0 +1,183 @@
+package br.ifsp.demo.domain;
+
+import br.ifsp.demo.util.CompoundInterestCalculator;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class BalanceProjectionTest {
+    private final LocalDate date = LocalDate.of(2025, 4, 25);
+    private final Asset asset = new Asset("Banco Inter", AssetType.CDB, 0.1, date.plusYears(1));
+
+    private static double balance(Investment investment, LocalDate at) {
+        long days = ChronoUnit.DAYS.between(investment.getPurchaseDate(), at);
+        return CompoundInterestCalculator.balance(investment.getInitialValue(), investment.getAsset().getGrowthFactor(), days);
+    }
+
+    @Nested
+    @DisplayName("Evaluation")
+    class Evaluation {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should match the per date balance on every point of the grid")
+        void shouldMatchThePerDateBalanceOnEveryPointOfTheGrid() {
+            Investment first = new Investment(1000, asset, date);
+            Investment second = new Investment(2500, asset, date.plusDays(45));
+
+            BalanceProjection projection = BalanceProjection.of(List.of(first, second), date, date.plusDays(300), 7);
+
+            SoftAssertions softly = new SoftAssertions();
+            for (int point = 0; point < projection.size(); point++) {
+                LocalDate at = projection.dateAt(point);
+                double expected = balance(first, at) + (at.isBefore(second.getPurchaseDate()) ? 0 : balance(second, at));
+                softly.assertThat(projection.balanceAt(point)).as("balance at %s", at).isCloseTo(expected, within(0.011));
+            }
+            softly.assertAll();
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should return zero before the purchase date")
+        void shouldReturnZeroBeforeThePurchaseDate() {
+            Investment investment = new Investment(1000, asset, date.plusDays(10));
+
+            BalanceProjection projection = BalanceProjection.of(List.of(investment), date, date.plusDays(10), 5);
+
+            assertThat(projection.balances()).containsExactly(0.0, 0.0, 1000.0);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should keep the withdrawn value after the withdraw date")
+        void shouldKeepTheWithdrawnValueAfterTheWithdrawDate() {
+            Investment investment = new Investment(1000, asset, date);
+            investment.setWithdrawDate(date.plusDays(30));
+
+            BalanceProjection projection = BalanceProjection.of(List.of(investment), date, date.plusDays(120), 20);
+
+            assertThat(projection.balanceAt(1)).isEqualTo(balance(investment, date.plusDays(20)));
+            assertThat(projection.balanceAt(2)).isEqualTo(1100.0);
+            assertThat(projection.balanceAt(6)).isEqualTo(1100.0);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should stop growing at the asset maturity date")
+        void shouldStopGrowingAtTheAssetMaturityDate() {
+            Asset shortAsset = new Asset("Banco Inter", AssetType.LCI, 0.1, date.plusDays(60));
+            Investment investment = new Investment(1000, shortAsset, date);
+
+            BalanceProjection projection = BalanceProjection.of(List.of(investment), date, date.plusDays(300), 30);
+
+            assertThat(projection.balanceAt(2)).isEqualTo(1210.0);
+            assertThat(projection.balanceAt(10)).isEqualTo(1210.0);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should include investments withdrawn before the start of the grid")
+        void shouldIncludeInvestmentsWithdrawnBeforeTheStartOfTheGrid() {
+            Investment investment = new Investment(1000, asset, date.minusDays(60));
+            investment.setWithdrawDate(date.minusDays(30));
+
+            BalanceProjection projection = BalanceProjection.of(List.of(investment), date, date.plusDays(10), 10);
+
+            assertThat(projection.balances()).containsExactly(1100.0, 1100.0);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should not drift when summing many investments")
+        void shouldNotDriftWhenSummingManyInvestments() {
+            List<Investment> growing = new ArrayList<>();
+            List<Investment> frozen = new ArrayList<>();
+            for (int i = 0; i < 200_000; i++) {
+                growing.add(new Investment(77777.77, asset, date));
+                Investment withdrawn = new Investment(77777.77, asset, date.minusDays(10));
+                withdrawn.setWithdrawDate(date.minusDays(10));
+                frozen.add(withdrawn);
+            }
+
+            assertThat(BalanceProjection.of(growing, date, date, 1).balanceAt(0)).isEqualTo(15555554000.0);
+            assertThat(BalanceProjection.of(frozen, date, date, 1).balanceAt(0)).isEqualTo(15555554000.0);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Should place points every step days up to the end date")
+        void shouldPlacePointsEveryStepDaysUpToTheEndDate() {
+            BalanceProjection projection = BalanceProjection.of(List.of(), date, date.plusDays(25), 10);
+
+            assertThat(projection.size()).isEqualTo(3);
+            assertThat(projection.dateAt(2)).isEqualTo(date.plusDays(20));
+            assertThat(projection.balances()).containsOnly(0.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation")
+    class Validation {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Should throw IllegalArgumentException when step is not positive")
+        void shouldThrowIllegalArgumentExceptionWhenStepIsNotPositive() {
+            assertThatThrownBy(() -> BalanceProjection.of(List.of(), date, date.plusDays(1), 0))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Projection step must be greater than zero");
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Should throw IllegalArgumentException when end date is before start date")
+        void shouldThrowIllegalArgumentExceptionWhenEndDateIsBeforeStartDate() {
+            assertThatThrownBy(() -> BalanceProjection.of(List.of(), date, date.minusDays(1), 1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Projection end date cannot be before start date");
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Should throw IllegalArgumentException when the grid is too large")
+        void shouldThrowIllegalArgumentExceptionWhenTheGridIsTooLarge() {
+            assertThatThrownBy(() -> BalanceProjection.of(List.of(), date, date.plusDays(BalanceProjection.MAX_POINTS), 1))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Projection cannot have more than " + BalanceProjection.MAX_POINTS + " points");
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Should throw NullPointerException when dates are null")
+        void shouldThrowNullPointerExceptionWhenDatesAreNull() {
+            assertThatThrownBy(() -> BalanceProjection.of(List.of(), null, date, 1))
+                    .isInstanceOf(NullPointerException.class)
+                    .hasMessage("Projection start date cannot be null");
+            assertThatThrownBy(() -> BalanceProjection.of(List.of(), date, null, 1))
+                    .isInstanceOf(NullPointerException.class)
+                    .hasMessage("Projection end date cannot be null");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package br.ifsp.demo.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvestmentCursorTest {
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should decode the same cursor that was encoded")
+    void shouldDecodeTheSameCursorThatWasEncoded() {
+        InvestmentCursor cursor = new InvestmentCursor(LocalDate.of(2025, 4, 25), UUID.randomUUID());
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("|", "=", "/", "+");
+        assertThat(InvestmentCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @ParameterizedTest
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @ValueSource(strings = {"not a cursor", "MjAyNS0wNC0yNQ", "MjAyNS0xMy0yNXx4"})
+    @DisplayName("Should throw IllegalArgumentException when cursor is malformed")
+    void shouldThrowIllegalArgumentExceptionWhenCursorIsMalformed(String token) {
+        assertThatThrownBy(() -> InvestmentCursor.decode(token))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
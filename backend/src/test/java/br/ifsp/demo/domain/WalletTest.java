@@ -4,6 +4,7 @@ import br.ifsp.demo.repository.WalletRepository;
 import br.ifsp.demo.security.user.User;
 import br.ifsp.demo.service.WalletService;
 import br.ifsp.demo.util.EffectiveWithdrawDateResolver;
+import org.assertj.core.api.SoftAssertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,12 +14,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.*;
 
@@ -52,7 +58,7 @@ class WalletTest {
         @Tag("Functional")
         @DisplayName("Should calculate total balance with active investments")
         void shouldCalculateTotalBalanceWithActiveInvestments() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.ofNullable(sut));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.ofNullable(sut));
 
             LocalDate purchaseDate = baseDate.minusMonths(1).minusDays(10);
             Asset asset = new Asset("Banco Inter", AssetType.CDB, 0.1, baseDate.plusMonths(2));
@@ -73,7 +79,7 @@ class WalletTest {
         @Tag("Functional")
         @DisplayName("Should calculate total balance with history investments")
         void shouldCalculateTotalBalanceWithHistoryInvestments() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.ofNullable(sut));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.ofNullable(sut));
 
             LocalDate purchaseDate = baseDate.minusMonths(1).minusDays(10);
             Asset asset = new Asset("Banco Inter", AssetType.CDB, 0.1, baseDate.plusMonths(2));
@@ -107,7 +113,7 @@ class WalletTest {
         @Tag("Functional")
         @DisplayName("Should calculate future balance with active investments")
         void shouldCalculateFutureBalanceWithActiveInvestments() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.ofNullable(sut));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.ofNullable(sut));
 
             LocalDate purchaseDate = baseDate;
             Asset asset = new Asset("Banco Inter", AssetType.CDB, 0.1, baseDate.plusMonths(2));
@@ -131,6 +137,233 @@ class WalletTest {
         }
     }
 
+    @Nested
+    @DisplayName("Investment Partition")
+    class InvestmentPartition {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should move investment to history when withdrawn and back when withdraw is reverted")
+        void shouldMoveInvestmentToHistoryWhenWithdrawnAndBackWhenWithdrawIsReverted() {
+            Asset asset = new Asset("Banco Inter", AssetType.CDB, 0.1, baseDate.plusMonths(2));
+            Investment investment = new Investment(1000, asset, baseDate);
+            Investment other = new Investment(500, asset, baseDate);
+            sut.addInvestment(investment);
+            sut.addInvestment(other);
+
+            investment.setWithdrawDate(baseDate);
+            assertThat(sut.getInvestments()).containsExactly(other);
+            assertThat(sut.getHistoryInvestments()).containsExactly(investment);
+
+            investment.setWithdrawDate(null);
+            assertThat(sut.getInvestments()).containsExactlyInAnyOrder(investment, other);
+            assertThat(sut.getHistoryInvestments()).isEmpty();
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should keep partition consistent when investments are removed")
+        void shouldKeepPartitionConsistentWhenInvestmentsAreRemoved() {
+            Asset asset = new Asset("Banco Inter", AssetType.CDB, 0.1, baseDate.plusMonths(2));
+            Investment active = new Investment(1000, asset, baseDate);
+            Investment withdrawn = new Investment(500, asset, baseDate);
+            sut.addInvestment(active);
+            sut.addInvestment(withdrawn);
+            withdrawn.setWithdrawDate(baseDate);
+
+            sut.removeInvestment(active);
+            sut.removeInvestment(withdrawn);
+
+            assertThat(sut.getInvestments()).isEmpty();
+            assertThat(sut.getHistoryInvestments()).isEmpty();
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Should return read only views of the partition")
+        void shouldReturnReadOnlyViewsOfThePartition() {
+            Asset asset = new Asset("Banco Inter", AssetType.CDB, 0.1, baseDate.plusMonths(2));
+            Investment investment = new Investment(1000, asset, baseDate);
+
+            assertThatThrownBy(() -> sut.getInvestments().add(investment))
+                    .isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> sut.getHistoryInvestments().add(investment))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Investment Lookup")
+    class InvestmentLookup {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should find active and withdrawn investments by id")
+        void shouldFindActiveAndWithdrawnInvestmentsById() {
+            Asset asset = new Asset("Banco Inter", AssetType.CDB, 0.1, baseDate.plusMonths(2));
+            Investment active = new Investment(1000, asset, baseDate);
+            Investment withdrawn = new Investment(500, asset, baseDate);
+            sut.addInvestment(active);
+            sut.addInvestment(withdrawn);
+            withdrawn.setWithdrawDate(baseDate);
+
+            assertThat(sut.getInvestmentById(active.getId())).contains(active);
+            assertThat(sut.getInvestmentById(withdrawn.getId())).contains(withdrawn);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should not find investment after it is removed")
+        void shouldNotFindInvestmentAfterItIsRemoved() {
+            Asset asset = new Asset("Banco Inter", AssetType.CDB, 0.1, baseDate.plusMonths(2));
+            Investment investment = new Investment(1000, asset, baseDate);
+            sut.addInvestment(investment);
+
+            sut.removeInvestment(investment);
+
+            assertThat(sut.getInvestmentById(investment.getId())).isEmpty();
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should allow adding an investment again after it is removed")
+        void shouldAllowAddingAnInvestmentAgainAfterItIsRemoved() {
+            Asset asset = new Asset("Banco Inter", AssetType.CDB, 0.1, baseDate.plusMonths(2));
+            Investment investment = new Investment(1000, asset, baseDate);
+            sut.addInvestment(investment);
+            sut.removeInvestment(investment);
+
+            sut.addInvestment(investment);
+
+            assertThat(sut.getInvestments()).containsExactly(investment);
+        }
+    }
+
+    @Nested
+    @DisplayName("Wallet Summary")
+    class WalletSummaryMaintenance {
+        private Investment cdb;
+        private Investment lci;
+
+        @BeforeEach
+        void setUp() {
+            cdb = new Investment(1000, new Asset("Banco Inter", AssetType.CDB, 0.1, baseDate.plusMonths(2)), baseDate.minusMonths(1));
+            lci = new Investment(500, new Asset("Banco do Brasil", AssetType.LCI, 0.05, baseDate.plusYears(1)), baseDate.minusMonths(3));
+            sut.addInvestment(cdb);
+            sut.addInvestment(lci);
+        }
+
+        private void assertSummaryMatchesRebuild() {
+            WalletSummary summary = sut.getSummary();
+            List<Investment> investments = new ArrayList<>(sut.getInvestments());
+            investments.addAll(sut.getHistoryInvestments());
+            WalletSummary rebuilt = WalletSummary.of(sut, investments);
+
+            SoftAssertions softly = new SoftAssertions();
+            softly.assertThat(summary.getFutureBalanceInCents()).isEqualTo(rebuilt.getFutureBalanceInCents());
+            softly.assertThat(summary.getRealizedBalanceInCents()).isEqualTo(rebuilt.getRealizedBalanceInCents());
+            for (AssetType type : AssetType.values()) {
+                softly.assertThat(summary.getActiveCount(type)).as("active %s", type).isEqualTo(rebuilt.getActiveCount(type));
+                softly.assertThat(summary.getWithdrawnCount(type)).as("withdrawn %s", type).isEqualTo(rebuilt.getWithdrawnCount(type));
+            }
+            softly.assertAll();
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should keep the summary in sync when investments are added, withdrawn and removed")
+        void shouldKeepTheSummaryInSyncWhenInvestmentsAreAddedWithdrawnAndRemoved() {
+            assertSummaryMatchesRebuild();
+
+            cdb.setWithdrawDate(baseDate);
+            assertSummaryMatchesRebuild();
+
+            cdb.setWithdrawDate(baseDate.plusDays(10));
+            assertSummaryMatchesRebuild();
+
+            cdb.setWithdrawDate(null);
+            assertSummaryMatchesRebuild();
+
+            sut.removeInvestment(lci);
+            assertSummaryMatchesRebuild();
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should move future balance into realized balance when an investment is withdrawn")
+        void shouldMoveFutureBalanceIntoRealizedBalanceWhenAnInvestmentIsWithdrawn() {
+            cdb.setWithdrawDate(baseDate);
+
+            WalletSummary summary = sut.getSummary();
+            SoftAssertions softly = new SoftAssertions();
+            softly.assertThat(summary.getFutureBalanceInCents()).isEqualTo(lci.calculateFutureBalanceInCents());
+            softly.assertThat(summary.getRealizedBalanceInCents()).isEqualTo(cdb.calculateCurrentBalanceInCents());
+            softly.assertThat(summary.getActiveCount(AssetType.CDB)).isZero();
+            softly.assertThat(summary.getWithdrawnCount(AssetType.CDB)).isEqualTo(1);
+            softly.assertThat(summary.getActiveCount(AssetType.LCI)).isEqualTo(1);
+            softly.assertAll();
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should compute allocation from the summary counts")
+        void shouldComputeAllocationFromTheSummaryCounts() {
+            lci.setWithdrawDate(baseDate);
+
+            assertThat(sut.getSummary().getActiveAllocation().countPercentages())
+                    .isEqualTo(AssetAllocation.byCount(sut.getInvestments()).countPercentages());
+            assertThat(sut.getSummary().getHistoryAllocation().countPercentages())
+                    .isEqualTo(AssetAllocation.byCount(sut.getHistoryInvestments()).countPercentages());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should accumulate wallet totals in exact cents for large wallets")
+        void shouldAccumulateWalletTotalsInExactCentsForLargeWallets() {
+            Asset asset = new Asset("Banco Inter", AssetType.CDB, 0.1, baseDate.plusMonths(2));
+            List<Investment> withdrawn = new ArrayList<>();
+            for (int i = 0; i < 100_000; i++) {
+                Investment investment = new Investment(77777.77, asset, baseDate);
+                sut.addInvestment(investment);
+                if (i % 2 == 0) withdrawn.add(investment);
+            }
+            withdrawn.forEach(investment -> investment.setWithdrawDate(baseDate));
+
+            long futureInCents = sut.getInvestments().stream().mapToLong(Investment::calculateFutureBalanceInCents).sum();
+            long realizedInCents = sut.getHistoryInvestments().stream().mapToLong(Investment::calculateCurrentBalanceInCents).sum();
+            long activeInCents = sut.getInvestments().stream().mapToLong(Investment::calculateCurrentBalanceInCents).sum();
+
+            assertThat(sut.getSummary().getFutureBalanceInCents()).isEqualTo(futureInCents);
+            assertThat(sut.getSummary().getRealizedBalanceInCents()).isEqualTo(realizedInCents);
+            assertThat(realizedInCents).isEqualTo(50_000L * 7_777_777L);
+            assertThat(sut.getFutureBalance()).isEqualTo(futureInCents / 100.0);
+            assertThat(sut.getTotalBalance()).isCloseTo((realizedInCents + activeInCents) / 100.0,
+                    within(sut.getInvestments().size() * 0.005));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Should rebuild a missing summary from the investments")
+        void shouldRebuildAMissingSummaryFromTheInvestments() {
+            cdb.setWithdrawDate(baseDate);
+            ReflectionTestUtils.setField(sut, "summary", null);
+
+            assertSummaryMatchesRebuild();
+            assertThat(sut.getFutureBalance()).isEqualTo(lci.calculateFutureBalanceInCents() / 100.0);
+        }
+    }
+
     @Nested
     class StructuralTests {
         @Test
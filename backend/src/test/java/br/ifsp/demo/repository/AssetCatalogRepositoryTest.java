@@ -0,0 +1,58 @@
+package br.ifsp.demo.repository;
+
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.dto.asset.AssetResponseDTO;
+import br.ifsp.demo.service.AssetCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:file:asset-catalog-repository-test?mode=memory&cache=shared&foreign_keys=true",
+        "spring.datasource.hikari.maximum-pool-size=1"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AssetCatalogRepositoryTest {
+
+    @Autowired
+    private AssetRepository repository;
+
+    private AssetCatalog catalog;
+    private List<Asset> seeded;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new AssetCatalog(repository, Duration.ofMinutes(5));
+        seeded = repository.findAll();
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should serve every seeded asset from a warm cache")
+    void shouldServeEverySeededAssetFromAWarmCache() {
+        List<AssetResponseDTO> listed = catalog.findAll();
+
+        for (Asset asset : seeded) {
+            assertThat(catalog.findById(asset.getId())).get()
+                    .usingRecursiveComparison()
+                    .isEqualTo(asset);
+        }
+        Map<UUID, Asset> byId = catalog.findAllById(seeded.stream().map(Asset::getId).toList());
+
+        assertThat(listed).hasSameSizeAs(seeded);
+        assertThat(byId).hasSameSizeAs(seeded);
+        assertThat(seeded).extracting(Asset::getProfitability).anyMatch(profitability -> profitability < 0.01);
+        assertThat(catalog.getStats().misses()).isEqualTo(1);
+    }
+}
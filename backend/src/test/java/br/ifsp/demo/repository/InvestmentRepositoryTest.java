@@ -0,0 +1,205 @@
+package br.ifsp.demo.repository;
+
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.domain.AssetType;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.InvestmentCursor;
+import br.ifsp.demo.domain.InvestmentFilter;
+import br.ifsp.demo.domain.Wallet;
+import br.ifsp.demo.security.user.Role;
+import br.ifsp.demo.security.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:file:investment-repository-test?mode=memory&cache=shared&foreign_keys=true",
+        "spring.datasource.hikari.maximum-pool-size=1"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class InvestmentRepositoryTest {
+    private final LocalDate date = LocalDate.of(2025, 4, 25);
+
+    @Autowired
+    private InvestmentRepository repository;
+    @Autowired
+    private AssetRepository assetRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private UUID userId;
+    private Investment activeCdb;
+    private Investment activeLci;
+    private Investment withdrawnCdb;
+    private Investment withdrawnLci;
+
+    private Asset assetOf(AssetType assetType) {
+        return assetRepository.findAll().stream()
+                .filter(asset -> asset.getAssetType() == assetType)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Investment investment(Wallet wallet, AssetType assetType, LocalDate purchaseDate, LocalDate withdrawDate) {
+        Investment investment = new Investment(1000, assetOf(assetType));
+        investment.setPurchaseDate(purchaseDate);
+        wallet.addInvestment(investment);
+        if (withdrawDate != null) investment.setWithdrawDate(withdrawDate);
+        return investment;
+    }
+
+    private Wallet persistWallet() {
+        UUID id = UUID.randomUUID();
+        User user = User.builder()
+                .id(id)
+                .name("John")
+                .lastname("Snow")
+                .email(id + "@snow.com")
+                .password("secret")
+                .role(Role.USER)
+                .build();
+        entityManager.persist(user);
+        Wallet wallet = new Wallet();
+        wallet.setUser(user);
+        return wallet;
+    }
+
+    @BeforeEach
+    void setUp() {
+        Wallet wallet = persistWallet();
+        userId = wallet.getUser().getId();
+        activeCdb = investment(wallet, AssetType.CDB, date.minusMonths(2), null);
+        activeLci = investment(wallet, AssetType.LCI, date, null);
+        withdrawnCdb = investment(wallet, AssetType.CDB, date, date.plusDays(10));
+        withdrawnLci = investment(wallet, AssetType.LCI, date.minusMonths(2), date);
+        entityManager.persist(wallet);
+
+        Wallet otherWallet = persistWallet();
+        investment(otherWallet, AssetType.CDB, date, null);
+        investment(otherWallet, AssetType.CDB, date, date);
+        entityManager.persist(otherWallet);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static List<UUID> ids(List<Investment> investments) {
+        return investments.stream().map(Investment::getId).toList();
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should filter active investments of the user by asset type")
+    void shouldFilterActiveInvestmentsOfTheUserByAssetType() {
+        assertThat(ids(repository.findActiveByUserIdAndAssetType(userId, AssetType.CDB)))
+                .containsExactly(activeCdb.getId());
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should filter active investments of the user by inclusive purchase date range")
+    void shouldFilterActiveInvestmentsOfTheUserByInclusivePurchaseDateRange() {
+        assertThat(ids(repository.findActiveByUserIdAndPurchaseDateBetween(userId, date, date.plusDays(1))))
+                .containsExactly(activeLci.getId());
+        assertThat(ids(repository.findActiveByUserIdAndPurchaseDateBetween(userId, date.minusMonths(2), date)))
+                .containsExactly(activeCdb.getId(), activeLci.getId());
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should filter withdrawn investments of the user by asset type")
+    void shouldFilterWithdrawnInvestmentsOfTheUserByAssetType() {
+        assertThat(ids(repository.findHistoryByUserIdAndAssetType(userId, AssetType.LCI)))
+                .containsExactly(withdrawnLci.getId());
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should filter withdrawn investments of the user by inclusive purchase date range")
+    void shouldFilterWithdrawnInvestmentsOfTheUserByInclusivePurchaseDateRange() {
+        assertThat(ids(repository.findHistoryByUserIdAndPurchaseDateBetween(userId, date.minusDays(1), date)))
+                .containsExactly(withdrawnCdb.getId());
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should return an empty list for an unknown user")
+    void shouldReturnAnEmptyListForAnUnknownUser() {
+        assertThat(repository.findActiveByUserIdAndAssetType(UUID.randomUUID(), AssetType.CDB)).isEmpty();
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should walk every active investment of the user in keyset order")
+    void shouldWalkEveryActiveInvestmentOfTheUserInKeysetOrder() {
+        List<UUID> walked = new ArrayList<>();
+        InvestmentCursor after = null;
+        List<Investment> page;
+        do {
+            page = repository.findActivePage(userId, InvestmentFilter.NONE, after, 1);
+            page.forEach(investment -> walked.add(investment.getId()));
+            if (!page.isEmpty()) after = InvestmentCursor.of(page.getLast());
+        } while (!page.isEmpty());
+
+        assertThat(walked).containsExactly(activeCdb.getId(), activeLci.getId());
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should apply type and date filters to history pages")
+    void shouldApplyTypeAndDateFiltersToHistoryPages() {
+        List<Investment> page = repository.findHistoryPage(userId,
+                new InvestmentFilter(AssetType.CDB, date.minusMonths(3), date), null, 10);
+
+        assertThat(ids(page)).containsExactly(withdrawnCdb.getId());
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should continue a filtered history page after the cursor")
+    void shouldContinueAFilteredHistoryPageAfterTheCursor() {
+        InvestmentFilter filter = new InvestmentFilter(null, date.minusYears(1), date);
+        List<Investment> first = repository.findHistoryPage(userId, filter, null, 1);
+
+        List<Investment> next = repository.findHistoryPage(userId, filter, InvestmentCursor.of(first.getLast()), 10);
+
+        assertThat(ids(first)).containsExactly(withdrawnLci.getId());
+        assertThat(ids(next)).containsExactly(withdrawnCdb.getId());
+    }
+
+    @Test
+    @Tag("Structural")
+    @DisplayName("Should only add the predicates the page request needs")
+    void shouldOnlyAddThePredicatesThePageRequestNeeds() {
+        String first = InvestmentPageRepositoryImpl.pageQuery("i.withdrawDate is null", InvestmentFilter.NONE, null);
+        String next = InvestmentPageRepositoryImpl.pageQuery("i.withdrawDate is null",
+                new InvestmentFilter(AssetType.CDB, null, null), new InvestmentCursor(date, UUID.randomUUID()));
+
+        assertThat(first).doesNotContain(":assetType", ":initialDate", ":afterDate");
+        assertThat(next).contains("a.assetType = :assetType", "(i.purchaseDate, i.id) > (:afterDate, :afterId)")
+                .doesNotContain(":initialDate", "is null or");
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should stream the history of the user in purchase order")
+    void shouldStreamTheHistoryOfTheUserInPurchaseOrder() {
+        try (Stream<Investment> history = repository.streamHistoryByUserId(userId)) {
+            assertThat(history.map(Investment::getId).toList())
+                    .containsExactly(withdrawnLci.getId(), withdrawnCdb.getId());
+        }
+    }
+}
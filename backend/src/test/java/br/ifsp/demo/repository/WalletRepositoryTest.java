@@ -0,0 +1,193 @@
+package br.ifsp.demo.repository;
+
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.Wallet;
+import br.ifsp.demo.security.user.Role;
+import br.ifsp.demo.security.user.User;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:file:wallet-repository-test?mode=memory&cache=shared&foreign_keys=true",
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class WalletRepositoryTest {
+
+    @Autowired
+    private WalletRepository repository;
+    @Autowired
+    private AssetRepository assetRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private List<Asset> assets;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        assets = assetRepository.findAll();
+    }
+
+    private UUID persistWalletWith(int investments) {
+        UUID userId = UUID.randomUUID();
+        User user = User.builder()
+                .id(userId)
+                .name("John")
+                .lastname("Snow")
+                .email(userId + "@snow.com")
+                .password("secret")
+                .role(Role.USER)
+                .build();
+        entityManager.persist(user);
+
+        Wallet wallet = new Wallet();
+        wallet.setUser(user);
+        for (int i = 0; i < investments; i++) {
+            wallet.addInvestment(new Investment(100 + i, assets.get(i % assets.size())));
+        }
+        entityManager.persist(wallet);
+        entityManager.flush();
+        entityManager.clear();
+        return userId;
+    }
+
+    private long statementsToLoadWalletWith(int investments) {
+        UUID userId = persistWalletWith(investments);
+        statistics.clear();
+
+        Wallet wallet = repository.findWithInvestmentsByUser_Id(userId).orElseThrow();
+        assertThat(wallet.getInvestments()).hasSize(investments);
+        wallet.getInvestments().forEach(investment -> assertThat(investment.getAsset().getName()).isNotNull());
+
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should load wallet, investments and assets with a constant number of statements")
+    void shouldLoadWalletInvestmentsAndAssetsWithAConstantNumberOfStatements() {
+        long small = statementsToLoadWalletWith(1);
+        long large = statementsToLoadWalletWith(60);
+
+        assertThat(small).isLessThanOrEqualTo(2);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should persist the wallet summary and read it without loading investments")
+    void shouldPersistTheWalletSummaryAndReadItWithoutLoadingInvestments() {
+        UUID userId = persistWalletWith(12);
+        Wallet expected = repository.findWithInvestmentsByUser_Id(userId).orElseThrow();
+        long futureBalanceInCents = expected.getInvestments().stream()
+                .mapToLong(Investment::calculateFutureBalanceInCents)
+                .sum();
+        entityManager.clear();
+        statistics.clear();
+
+        Wallet wallet = repository.findWithSummaryByUser_Id(userId).orElseThrow();
+
+        assertThat(wallet.getFutureBalance()).isEqualTo(futureBalanceInCents / 100.0);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should append investments in batches without loading the investment set")
+    void shouldAppendInvestmentsInBatchesWithoutLoadingTheInvestmentSet() {
+        UUID userId = persistWalletWith(12);
+        statistics.clear();
+
+        Wallet wallet = repository.findWithSummaryByUser_Id(userId).orElseThrow();
+        for (int i = 0; i < 20; i++) {
+            Investment investment = new Investment(500 + i, assets.get(i % assets.size()));
+            wallet.appendInvestment(investment);
+            entityManager.persist(investment);
+        }
+        entityManager.flush();
+
+        assertThat(entityManager.getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil()
+                .isLoaded(wallet, "investments")).isFalse();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(20);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+        entityManager.clear();
+        Wallet reloaded = repository.findWithInvestmentsByUser_Id(userId).orElseThrow();
+        long futureBalanceInCents = reloaded.getInvestments().stream()
+                .mapToLong(Investment::calculateFutureBalanceInCents)
+                .sum();
+        assertThat(reloaded.getInvestments()).hasSize(32);
+        assertThat(reloaded.getFutureBalance()).isEqualTo(futureBalanceInCents / 100.0);
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should reject an investment that references a missing wallet")
+    void shouldRejectAnInvestmentThatReferencesAMissingWallet() {
+        Query orphan = entityManager.getEntityManager().createNativeQuery("""
+                insert into investment (id, initial_value, asset_id, wallet_id)
+                values (:id, 100, :assetId, :walletId)
+                """)
+                .setParameter("id", UUID.randomUUID().toString())
+                .setParameter("assetId", assets.get(0).getId().toString())
+                .setParameter("walletId", UUID.randomUUID().toString());
+
+        assertThatThrownBy(orphan::executeUpdate).isInstanceOf(PersistenceException.class);
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should cascade the wallet deletion to its investments and summary")
+    void shouldCascadeTheWalletDeletionToItsInvestmentsAndSummary() {
+        UUID userId = persistWalletWith(5);
+        String walletId = repository.findWithSummaryByUser_Id(userId).orElseThrow().getId().toString();
+        entityManager.clear();
+
+        entityManager.getEntityManager().createNativeQuery("delete from wallet where id = :id")
+                .setParameter("id", walletId)
+                .executeUpdate();
+
+        assertThat(countRows("investment", walletId)).isZero();
+        assertThat(countRows("wallet_summary", walletId)).isZero();
+        assertThat(countRows("wallet_summary_asset_type", walletId)).isZero();
+    }
+
+    private long countRows(String table, String walletId) {
+        Object count = entityManager.getEntityManager()
+                .createNativeQuery("select count(*) from " + table + " where wallet_id = :id")
+                .setParameter("id", walletId)
+                .getSingleResult();
+        return ((Number) count).longValue();
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should return empty when user has no wallet")
+    void shouldReturnEmptyWhenUserHasNoWallet() {
+        assertThat(repository.findWithInvestmentsByUser_Id(UUID.randomUUID())).isEmpty();
+    }
+}
@@ -0,0 +1,112 @@
+package br.ifsp.demo.security.config;
+
+import br.ifsp.demo.security.user.JpaUserRepository;
+import br.ifsp.demo.security.user.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatusCacheTest {
+    @Mock
+    JpaUserRepository repository;
+
+    private final AtomicLong now = new AtomicLong();
+    private UserStatusCache sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = new UserStatusCache(repository, 60, 2, now::get);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should query the repository once while the entry is fresh")
+    void shouldQueryTheRepositoryOnceWhileTheEntryIsFresh() {
+        UUID userId = UUID.randomUUID();
+        when(repository.findRoleById(userId)).thenReturn(Optional.of(Role.USER));
+
+        assertThat(sut.isActive(userId, Role.USER)).isTrue();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertThat(sut.isActive(userId, Role.USER)).isTrue();
+
+        verify(repository, times(1)).findRoleById(userId);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should reload the user status after the ttl expires")
+    void shouldReloadTheUserStatusAfterTheTtlExpires() {
+        UUID userId = UUID.randomUUID();
+        when(repository.findRoleById(userId)).thenReturn(Optional.of(Role.USER)).thenReturn(Optional.empty());
+
+        assertThat(sut.isActive(userId, Role.USER)).isTrue();
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        assertThat(sut.isActive(userId, Role.USER)).isFalse();
+        verify(repository, times(2)).findRoleById(userId);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should reload the user status after eviction")
+    void shouldReloadTheUserStatusAfterEviction() {
+        UUID userId = UUID.randomUUID();
+        when(repository.findRoleById(userId)).thenReturn(Optional.of(Role.USER)).thenReturn(Optional.empty());
+
+        sut.isActive(userId, Role.USER);
+        sut.evict(userId);
+
+        assertThat(sut.isActive(userId, Role.USER)).isFalse();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should reject a token whose role no longer matches the stored role")
+    void shouldRejectATokenWhoseRoleNoLongerMatchesTheStoredRole() {
+        UUID userId = UUID.randomUUID();
+        when(repository.findRoleById(userId)).thenReturn(Optional.of(Role.USER));
+
+        assertThat(sut.isActive(userId, Role.ADMIN)).isFalse();
+        assertThat(sut.isActive(userId, Role.USER)).isTrue();
+        verify(repository, times(1)).findRoleById(userId);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Should keep at most the configured number of entries")
+    void shouldKeepAtMostTheConfiguredNumberOfEntries() {
+        for (int i = 0; i < 5; i++) sut.isActive(UUID.randomUUID(), Role.USER);
+        assertThat(sut.size()).isEqualTo(2);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Should throw IllegalArgumentException when size is not positive")
+    void shouldThrowIllegalArgumentExceptionWhenSizeIsNotPositive() {
+        assertThatThrownBy(() -> new UserStatusCache(repository, 60, 0, now::get))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cache size must be greater than zero");
+    }
+}
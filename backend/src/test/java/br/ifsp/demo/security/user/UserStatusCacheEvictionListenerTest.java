@@ -0,0 +1,76 @@
+package br.ifsp.demo.security.user;
+
+import br.ifsp.demo.security.config.UserStatusCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatusCacheEvictionListenerTest {
+    @Mock
+    ObjectProvider<UserStatusCache> provider;
+    @Mock
+    UserStatusCache cache;
+
+    private UserStatusCacheEvictionListener sut;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        when(provider.getIfAvailable()).thenReturn(cache);
+        sut = new UserStatusCacheEvictionListener(provider);
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .name("John")
+                .lastname("Snow")
+                .email("john@snow.com")
+                .password("secret")
+                .role(Role.USER)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should evict the user right away outside a transaction")
+    void shouldEvictTheUserRightAwayOutsideATransaction() {
+        sut.evict(user);
+
+        verify(cache).evict(user.getId());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should evict the user only once the transaction completes")
+    void shouldEvictTheUserOnlyOnceTheTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        sut.evict(user);
+        verify(cache, never()).evict(user.getId());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        verify(cache).evict(user.getId());
+    }
+}
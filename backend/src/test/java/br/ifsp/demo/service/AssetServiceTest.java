@@ -2,6 +2,7 @@ package br.ifsp.demo.service;
 
 import br.ifsp.demo.domain.Asset;
 import br.ifsp.demo.repository.AssetRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Tag;
@@ -9,28 +10,38 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static br.ifsp.demo.domain.AssetType.CDB;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class AssetServiceTest {
     @Mock
     AssetRepository assetRepository;
-    @InjectMocks
     AssetService sut;
 
+    @BeforeEach
+    void setUp() {
+        sut = new AssetService(assetRepository, Duration.ofMinutes(5));
+    }
+
     @Test
     @Tag("UnitTest")
     @Tag("Structural")
@@ -63,6 +74,118 @@ class AssetServiceTest {
         assertThat(sut.getAssetById(asset.getId())).isEqualTo(asset);
     }
     
+    @Nested
+    class AssetCatalogCache {
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should load asset from repository only once")
+        void shouldLoadAssetFromRepositoryOnlyOnce(){
+            Asset asset = new Asset("Banco Inter", CDB, 0.1, LocalDate.now());
+            when(assetRepository.findById(asset.getId())).thenReturn(Optional.of(asset));
+
+            sut.getAssetById(asset.getId());
+            Asset cached = sut.getAssetById(asset.getId());
+
+            assertThat(cached).isEqualTo(asset);
+            assertThat(sut.getCatalogStats()).isEqualTo(new AssetCatalog.Stats(1, 1, 1));
+            verify(assetRepository, times(1)).findById(asset.getId());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should list assets from repository only once")
+        void shouldListAssetsFromRepositoryOnlyOnce(){
+            Asset asset = new Asset("Banco Inter", CDB, 0.1, LocalDate.now());
+            when(assetRepository.findAll()).thenReturn(List.of(asset));
+
+            sut.getAssets();
+            List<?> assets = sut.getAssets();
+
+            assertThat(assets.size()).isEqualTo(1);
+            assertThat(sut.getAssetById(asset.getId())).isEqualTo(asset);
+            verify(assetRepository, times(1)).findAll();
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should resolve assets missing from the catalog with a single query")
+        void shouldResolveAssetsMissingFromTheCatalogWithASingleQuery(){
+            Asset cached = new Asset("Banco Inter", CDB, 0.1, LocalDate.now());
+            Asset missing = new Asset("Banco do Brasil", CDB, 0.12, LocalDate.now());
+            UUID unknown = UUID.randomUUID();
+            when(assetRepository.findById(cached.getId())).thenReturn(Optional.of(cached));
+            when(assetRepository.findAllById(Set.of(missing.getId(), unknown))).thenReturn(List.of(missing));
+            sut.getAssetById(cached.getId());
+
+            Map<UUID, Asset> assets = sut.getAssetsByIds(List.of(cached.getId(), missing.getId(), unknown, missing.getId()));
+
+            assertThat(assets.size()).isEqualTo(2);
+            assertThat(assets.get(cached.getId())).isEqualTo(cached);
+            assertThat(assets.get(missing.getId())).isEqualTo(missing);
+            assertThat(sut.getAssetById(missing.getId())).isEqualTo(missing);
+            verify(assetRepository, times(1)).findAllById(Set.of(missing.getId(), unknown));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should refresh catalog when an asset is saved")
+        void shouldRefreshCatalogWhenAnAssetIsSaved(){
+            Asset first = new Asset("Banco Inter", CDB, 0.1, LocalDate.now());
+            Asset second = new Asset("Banco do Brasil", CDB, 0.12, LocalDate.now());
+            when(assetRepository.findAll()).thenReturn(List.of(first)).thenReturn(List.of(first, second));
+            when(assetRepository.save(second)).thenReturn(second);
+
+            sut.getAssets();
+            sut.saveAsset(second);
+
+            assertThat(sut.getAssets().size()).isEqualTo(2);
+            assertThat(sut.getAssetById(second.getId())).isEqualTo(second);
+            verify(assetRepository, times(2)).findAll();
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should hand out a new asset instance on every catalog hit")
+        void shouldHandOutANewAssetInstanceOnEveryCatalogHit(){
+            Asset asset = new Asset("Banco Inter", CDB, 0.1, LocalDate.now());
+            when(assetRepository.findById(asset.getId())).thenReturn(Optional.of(asset));
+            sut.getAssetById(asset.getId());
+
+            Asset first = sut.getAssetById(asset.getId());
+            Asset second = sut.getAssetById(asset.getId());
+
+            assertThat(first).isEqualTo(asset).isNotSameAs(asset).isNotSameAs(second);
+            assertThat(first.getName()).isEqualTo(asset.getName());
+            assertThat(first.getProfitability()).isEqualTo(asset.getProfitability());
+            assertThat(first.getMaturityDate()).isEqualTo(asset.getMaturityDate());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should reload assets from repository once the catalog ttl has passed")
+        void shouldReloadAssetsFromRepositoryOnceTheCatalogTtlHasPassed(){
+            AtomicLong now = new AtomicLong();
+            sut.catalog = new AssetCatalog(assetRepository, Duration.ofSeconds(30), now::get);
+            Asset first = new Asset("Banco Inter", CDB, 0.1, LocalDate.now());
+            Asset second = new Asset("Banco do Brasil", CDB, 0.12, LocalDate.now());
+            when(assetRepository.findAll()).thenReturn(List.of(first)).thenReturn(List.of(first, second));
+
+            sut.getAssets();
+            now.set(Duration.ofSeconds(30).toNanos());
+            assertThat(sut.getAssets().size()).isEqualTo(1);
+            now.set(Duration.ofSeconds(31).toNanos());
+
+            assertThat(sut.getAssets().size()).isEqualTo(2);
+            verify(assetRepository, times(2)).findAll();
+        }
+    }
+
     @Nested
     class MutationTests {
         @ParameterizedTest
@@ -0,0 +1,142 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.Wallet;
+import br.ifsp.demo.dto.investment.InvestmentRequestDTO;
+import br.ifsp.demo.repository.WalletRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static br.ifsp.demo.domain.AssetType.CDB;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InvestmentBatchServiceTest {
+    @Mock
+    WalletRepository walletRepository;
+    @Mock
+    AssetService assetService;
+    @Mock
+    EntityManager entityManager;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final UUID userId = UUID.randomUUID();
+    private final Asset asset = new Asset("Banco Inter", CDB, 0.1, LocalDate.now().plusYears(1));
+    private InvestmentBatchService sut;
+
+    @BeforeEach
+    void setUp() {
+        sut = new InvestmentBatchService(walletRepository, assetService, entityManager, validator);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should persist every valid investment and resolve assets once")
+    void shouldPersistEveryValidInvestmentAndResolveAssetsOnce() {
+        Wallet wallet = new Wallet();
+        when(walletRepository.findWithSummaryByUser_Id(userId)).thenReturn(Optional.of(wallet));
+        when(assetService.getAssetsByIds(Set.of(asset.getId()))).thenReturn(Map.of(asset.getId(), asset));
+        List<InvestmentRequestDTO> requests = List.of(
+                new InvestmentRequestDTO(1000.0, asset.getId()),
+                new InvestmentRequestDTO(2500.0, asset.getId()));
+
+        List<InvestmentBatchResult> results = sut.addInvestments(userId, requests);
+
+        assertThat(results).allMatch(InvestmentBatchResult::isCreated);
+        assertThat(results).extracting(InvestmentBatchResult::index).containsExactly(0, 1);
+        assertThat(wallet.getInvestments()).extracting(Investment::getId)
+                .containsExactlyInAnyOrderElementsOf(results.stream().map(InvestmentBatchResult::investmentId).toList());
+        assertThat(wallet.getFutureBalance()).isEqualTo(wallet.getInvestments().stream()
+                .mapToLong(Investment::calculateFutureBalanceInCents).sum() / 100.0);
+        verify(entityManager, times(2)).persist(any(Investment.class));
+        verify(assetService, times(1)).getAssetsByIds(any());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should reject invalid investments and keep the valid ones")
+    void shouldRejectInvalidInvestmentsAndKeepTheValidOnes() {
+        UUID unknownAsset = UUID.randomUUID();
+        Asset matured = new Asset("Banco XP", CDB, 0.1, LocalDate.now().minusDays(1));
+        Wallet wallet = new Wallet();
+        when(walletRepository.findWithSummaryByUser_Id(userId)).thenReturn(Optional.of(wallet));
+        when(assetService.getAssetsByIds(Set.of(asset.getId(), unknownAsset, matured.getId())))
+                .thenReturn(Map.of(asset.getId(), asset, matured.getId(), matured));
+        List<InvestmentRequestDTO> requests = Arrays.asList(
+                new InvestmentRequestDTO(1000.0, asset.getId()),
+                new InvestmentRequestDTO(null, null),
+                new InvestmentRequestDTO(-10.0, asset.getId()),
+                new InvestmentRequestDTO(100.0, unknownAsset),
+                new InvestmentRequestDTO(100.0, matured.getId()),
+                null);
+
+        List<InvestmentBatchResult> results = sut.addInvestments(userId, requests);
+
+        assertThat(results).extracting(InvestmentBatchResult::isCreated)
+                .containsExactly(true, false, false, false, false, false);
+        assertThat(results.get(1).errors())
+                .containsExactly("The asset ID must not be null", "The initial value is required");
+        assertThat(results.get(2).errors()).containsExactly("The initial value must be positive");
+        assertThat(results.get(3).errors()).containsExactly("Asset not found for id: " + unknownAsset);
+        assertThat(results.get(4).errors()).containsExactly("Purchase date cannot be after maturity date");
+        assertThat(results.get(5).errors()).containsExactly("Investment cannot be null");
+        assertThat(wallet.getInvestments()).hasSize(1);
+        verify(entityManager, times(1)).persist(any(Investment.class));
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should throw NoSuchElementException when wallet does not exists")
+    void shouldThrowNoSuchElementExceptionWhenWalletDoesNotExists() {
+        when(walletRepository.findWithSummaryByUser_Id(userId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> sut.addInvestments(userId, List.of(new InvestmentRequestDTO(1000.0, asset.getId()))))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("This user has not a wallet: " + userId);
+        verifyNoInteractions(assetService, entityManager);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Should reject empty or oversized batches")
+    void shouldRejectEmptyOrOversizedBatches() {
+        List<InvestmentRequestDTO> oversized = new ArrayList<>(Collections.nCopies(
+                InvestmentBatchService.MAX_BATCH_SIZE + 1, new InvestmentRequestDTO(1000.0, asset.getId())));
+
+        assertThatThrownBy(() -> sut.addInvestments(userId, List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sut.addInvestments(userId, oversized))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(walletRepository, assetService, entityManager);
+    }
+}
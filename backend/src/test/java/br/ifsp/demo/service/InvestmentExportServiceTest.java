@@ -0,0 +1,85 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.repository.InvestmentRepository;
+import br.ifsp.demo.repository.WalletRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static br.ifsp.demo.domain.AssetType.CDB;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InvestmentExportServiceTest {
+    @Mock
+    WalletRepository walletRepository;
+    @Mock
+    InvestmentRepository investmentRepository;
+    @Mock
+    EntityManager entityManager;
+    @InjectMocks
+    InvestmentExportService sut;
+
+    private final UUID userId = UUID.randomUUID();
+    private final Asset asset = new Asset("Banco Inter", CDB, 0.1, LocalDate.now().plusYears(1));
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should visit and detach every streamed investment")
+    void shouldVisitAndDetachEveryStreamedInvestment() {
+        Investment first = new Investment(1000, asset);
+        Investment second = new Investment(1500, asset);
+        when(investmentRepository.streamActiveByUserId(userId)).thenReturn(Stream.of(first, second));
+
+        List<Investment> visited = new ArrayList<>();
+        long count = sut.forEachInvestment(userId, visited::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(visited).containsExactly(first, second);
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Should close the repository stream after visiting the history")
+    void shouldCloseTheRepositoryStreamAfterVisitingTheHistory() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(investmentRepository.streamHistoryByUserId(userId))
+                .thenReturn(Stream.of(new Investment(1000, asset)).onClose(() -> closed.set(true)));
+
+        sut.forEachHistoryInvestment(userId, investment -> { });
+
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should throw NoSuchElementException when wallet does not exists")
+    void shouldThrowNoSuchElementExceptionWhenWalletDoesNotExists() {
+        when(walletRepository.existsByUser_Id(userId)).thenReturn(false);
+
+        assertThrows(NoSuchElementException.class, () -> sut.requireWallet(userId));
+    }
+}
@@ -0,0 +1,176 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.Wallet;
+import br.ifsp.demo.dto.investment.InvestmentRequestDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.ifsp.demo.domain.AssetType.CDB;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvestmentNdjsonCodecTest {
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final InvestmentNdjsonCodec sut = new InvestmentNdjsonCodec(objectMapper);
+    private final Asset asset = new Asset("Banco Inter", CDB, 0.1, LocalDate.now().plusYears(1));
+
+    private List<Investment> investments(int count) {
+        Wallet wallet = new Wallet();
+        List<Investment> investments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Investment investment = new Investment(1000 + i, asset);
+            wallet.addInvestment(investment);
+            investments.add(investment);
+        }
+        return investments;
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String request(double initialValue) {
+        return "{\"initialValue\":" + initialValue + ",\"assetId\":\"" + asset.getId() + "\"}";
+    }
+
+    private String requests(int count, String separator) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) content.append(separator);
+            content.append(request(1000 + i));
+        }
+        return content.toString();
+    }
+
+    @Nested
+    class Write {
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should write one JSON object per line in source order")
+        void shouldWriteOneJsonObjectPerLineInSourceOrder() throws IOException {
+            List<Investment> investments = investments(3);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            sut.write(output, investments::forEach);
+
+            String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+            assertThat(lines).hasSize(3);
+            for (int i = 0; i < lines.length; i++) {
+                JsonNode line = objectMapper.readTree(lines[i]);
+                assertThat(line.get("id").asText()).isEqualTo(investments.get(i).getId().toString());
+                assertThat(line.get("initialValue").asDouble()).isEqualTo(investments.get(i).getInitialValue());
+                assertThat(line.get("assetId").asText()).isEqualTo(asset.getId().toString());
+            }
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Should write nothing when the source is empty")
+        void shouldWriteNothingWhenTheSourceIsEmpty() throws IOException {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            sut.write(output, investment -> {});
+
+            assertThat(output.size()).isZero();
+        }
+    }
+
+    @Nested
+    class ReadNdjson {
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should read one investment request per line")
+        void shouldReadOneInvestmentRequestPerLine() throws IOException {
+            List<InvestmentRequestDTO> requests = sut.readNdjson(body(requests(2, "\n") + "\n"));
+
+            assertThat(requests).containsExactly(
+                    new InvestmentRequestDTO(1000.0, asset.getId()), new InvestmentRequestDTO(1001.0, asset.getId()));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should stop reading lines past the batch limit")
+        void shouldStopReadingLinesPastTheBatchLimit() {
+            String content = requests(InvestmentBatchService.MAX_BATCH_SIZE + 1, "\n") + "\nnot json";
+
+            assertThatThrownBy(() -> sut.readNdjson(body(content)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Investments cannot exceed " + InvestmentBatchService.MAX_BATCH_SIZE + " per batch");
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Should reject malformed lines")
+        void shouldRejectMalformedLines() {
+            assertThatThrownBy(() -> sut.readNdjson(body(request(1000) + "\n{\"initialValue\":")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Malformed investment batch");
+        }
+    }
+
+    @Nested
+    class ReadJsonArray {
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should read every investment request of the array")
+        void shouldReadEveryInvestmentRequestOfTheArray() throws IOException {
+            List<InvestmentRequestDTO> requests = sut.readJsonArray(body("[" + requests(2, ",") + "]"));
+
+            assertThat(requests).containsExactly(
+                    new InvestmentRequestDTO(1000.0, asset.getId()), new InvestmentRequestDTO(1001.0, asset.getId()));
+            assertThat(sut.readJsonArray(body("[]"))).isEmpty();
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should stop reading the array past the batch limit")
+        void shouldStopReadingTheArrayPastTheBatchLimit() {
+            String content = "[" + requests(InvestmentBatchService.MAX_BATCH_SIZE + 1, ",") + ", not json";
+
+            assertThatThrownBy(() -> sut.readJsonArray(body(content)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Investments cannot exceed " + InvestmentBatchService.MAX_BATCH_SIZE + " per batch");
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Should reject bodies that are not a complete array of investment requests")
+        void shouldRejectBodiesThatAreNotACompleteArrayOfInvestmentRequests() {
+            assertThatThrownBy(() -> sut.readJsonArray(body(request(1000))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Investment batch must be a JSON array");
+            assertThatThrownBy(() -> sut.readJsonArray(body("[" + request(1000))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Malformed investment batch");
+            assertThatThrownBy(() -> sut.readJsonArray(body("[1]")))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Malformed investment batch");
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.repository.WalletRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceTest {
+    @Mock
+    WalletRepository walletRepository;
+    @Mock
+    WalletReportExportService exportService;
+    @TempDir
+    Path directory;
+
+    private final WalletReportWriters writers = new WalletReportWriters(List.of(
+            new TextWalletReportWriter(), new CsvWalletReportWriter(), new JsonWalletReportWriter(new ObjectMapper())));
+    private ReportJobService sut;
+
+    private ReportJobService sut(int workers, int queueCapacity) {
+        sut = new ReportJobService(walletRepository, exportService, writers, directory,
+                workers, queueCapacity, Duration.ofDays(7), Clock.systemUTC(), Thread.ofPlatform().factory());
+        return sut;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (sut != null) sut.shutdown();
+    }
+
+    private void exportWritesUserId(UUID userId) throws Exception {
+        doAnswer(invocation -> {
+            WalletReportExportService.ReportTarget target = invocation.getArgument(2);
+            WalletReportWriter writer = invocation.getArgument(1);
+            try (OutputStream out = target.open(writer.getMediaType())) {
+                out.write(userId.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        }).when(exportService).export(eq(userId), any(), any());
+    }
+
+    private static void awaitFinished(ReportJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(job.isFinished()).isTrue();
+    }
+
+    @Nested
+    class SubmitForOneUser {
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should generate the report file in the background")
+        void shouldGenerateTheReportFileInTheBackground() throws Exception {
+            UUID userId = UUID.randomUUID();
+            when(walletRepository.existsByUser_Id(userId)).thenReturn(true);
+            exportWritesUserId(userId);
+
+            ReportJob job = sut(1, 1).submit(userId, "text/csv");
+            awaitFinished(job);
+
+            Path result = sut.getResult(job.getId(), userId, false);
+            assertThat(job.getStatus()).isEqualTo(ReportJobStatus.COMPLETED);
+            assertThat(job.getCompleted()).isEqualTo(1);
+            assertThat(job.getProgress()).isEqualTo(100.0);
+            assertThat(result.getFileName().toString()).isEqualTo(userId + ".csv");
+            assertThat(Files.readString(result)).isEqualTo(userId.toString());
+            assertThat(sut.getMetrics().reportsGenerated()).isEqualTo(1);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should reject jobs when the report queue is full")
+        void shouldRejectJobsWhenTheReportQueueIsFull() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            when(walletRepository.existsByUser_Id(any())).thenReturn(true);
+            doAnswer(invocation -> {
+                release.await();
+                return null;
+            }).when(exportService).export(any(), any(), any());
+            sut(1, 1);
+
+            ReportJob running = sut.submit(UUID.randomUUID(), null);
+            ReportJob queued = sut.submit(UUID.randomUUID(), null);
+
+            assertThatThrownBy(() -> sut.submit(UUID.randomUUID(), null))
+                    .isInstanceOf(RejectedExecutionException.class);
+            release.countDown();
+            awaitFinished(running);
+            awaitFinished(queued);
+            assertThat(sut.getMetrics().queueDepth()).isZero();
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should throw NoSuchElementException when wallet does not exists")
+        void shouldThrowNoSuchElementExceptionWhenWalletDoesNotExists() {
+            UUID userId = UUID.randomUUID();
+            when(walletRepository.existsByUser_Id(userId)).thenReturn(false);
+
+            assertThatThrownBy(() -> sut(1, 1).submit(userId, null))
+                    .isInstanceOf(NoSuchElementException.class)
+                    .hasMessage("This user has not a wallet: " + userId);
+        }
+    }
+
+    @Nested
+    class SubmitForAllUsers {
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should generate one report per wallet and skip empty wallets")
+        void shouldGenerateOneReportPerWalletAndSkipEmptyWallets() throws Exception {
+            List<UUID> userIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+            when(walletRepository.findAllUserIds()).thenReturn(userIds);
+            for (UUID userId : userIds.subList(1, userIds.size())) exportWritesUserId(userId);
+            doThrow(new NoSuchElementException("There are no investments in this wallet"))
+                    .when(exportService).export(eq(userIds.getFirst()), any(), any());
+
+            ReportJob job = sut(2, 1).submitForAllUsers(userIds.getLast(), "application/json");
+            awaitFinished(job);
+
+            assertThat(job.getStatus()).isEqualTo(ReportJobStatus.COMPLETED);
+            assertThat(job.getTotal()).isEqualTo(4);
+            assertThat(job.getCompleted()).isEqualTo(3);
+            assertThat(job.getSkipped()).isEqualTo(1);
+            assertThat(Files.readString(sut.getResult(job.getId(), userIds.getLast(), false))).isEqualTo(userIds.getLast().toString());
+            assertThatThrownBy(() -> sut.getResult(job.getId(), userIds.getFirst(), true))
+                    .isInstanceOf(NoSuchElementException.class);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Should complete right away when there are no wallets")
+        void shouldCompleteRightAwayWhenThereAreNoWallets() throws Exception {
+            when(walletRepository.findAllUserIds()).thenReturn(List.of());
+
+            ReportJob job = sut(1, 1).submitForAllUsers(UUID.randomUUID(), null);
+            awaitFinished(job);
+
+            assertThat(job.getStatus()).isEqualTo(ReportJobStatus.COMPLETED);
+            assertThat(job.getProgress()).isEqualTo(100.0);
+        }
+    }
+
+    @Nested
+    class SharedWorkers {
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should accept single wallet jobs while a job for every wallet is dispatching")
+        void shouldAcceptSingleWalletJobsWhileAJobForEveryWalletIsDispatching() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            List<UUID> userIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+            UUID userId = UUID.randomUUID();
+            when(walletRepository.findAllUserIds()).thenReturn(userIds);
+            when(walletRepository.existsByUser_Id(userId)).thenReturn(true);
+            doAnswer(invocation -> {
+                release.await();
+                return null;
+            }).when(exportService).export(any(), any(), any());
+            sut(1, 1);
+
+            ReportJob all = sut.submitForAllUsers(UUID.randomUUID(), null);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (sut.getMetrics().activeWorkers() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            ReportJob single = sut.submit(userId, null);
+
+            release.countDown();
+            awaitFinished(all);
+            awaitFinished(single);
+            assertThat(all.getProcessed()).isEqualTo(userIds.size());
+            assertThat(single.getStatus()).isEqualTo(ReportJobStatus.COMPLETED);
+        }
+    }
+
+    @Nested
+    class GetJob {
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should hide jobs from other users")
+        void shouldHideJobsFromOtherUsers() throws Exception {
+            UUID userId = UUID.randomUUID();
+            when(walletRepository.existsByUser_Id(userId)).thenReturn(true);
+            exportWritesUserId(userId);
+            ReportJob job = sut(1, 1).submit(userId, null);
+            awaitFinished(job);
+
+            assertThat(sut.getJob(job.getId(), userId, false)).isSameAs(job);
+            assertThatThrownBy(() -> sut.getJob(job.getId(), UUID.randomUUID(), false))
+                    .isInstanceOf(NoSuchElementException.class);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should only show jobs for every wallet to the submitter and admins")
+        void shouldOnlyShowJobsForEveryWalletToTheSubmitterAndAdmins() throws Exception {
+            UUID submittedBy = UUID.randomUUID();
+            UUID walletOwner = UUID.randomUUID();
+            when(walletRepository.findAllUserIds()).thenReturn(List.of(walletOwner));
+            exportWritesUserId(walletOwner);
+            ReportJob job = sut(1, 1).submitForAllUsers(submittedBy, null);
+            awaitFinished(job);
+
+            assertThat(sut.getJob(job.getId(), submittedBy, false)).isSameAs(job);
+            assertThat(sut.getJob(job.getId(), UUID.randomUUID(), true)).isSameAs(job);
+            assertThatThrownBy(() -> sut.getJob(job.getId(), walletOwner, false))
+                    .isInstanceOf(NoSuchElementException.class);
+            assertThatThrownBy(() -> sut.getResult(job.getId(), walletOwner, false))
+                    .isInstanceOf(NoSuchElementException.class);
+        }
+    }
+}
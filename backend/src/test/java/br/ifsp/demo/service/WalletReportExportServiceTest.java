@@ -0,0 +1,108 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.Wallet;
+import br.ifsp.demo.repository.WalletRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static br.ifsp.demo.domain.AssetType.CDB;
+import static br.ifsp.demo.domain.AssetType.LCA;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WalletReportExportServiceTest {
+    @Mock
+    WalletRepository walletRepository;
+    @Mock
+    InvestmentExportService investmentExportService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final LocalDate date = LocalDate.now();
+
+    private WalletReportExportService sut() {
+        return new WalletReportExportService(walletRepository, investmentExportService);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void stream(List<Investment> investments, Object invocationArgument) {
+        Consumer<Investment> action = (Consumer<Investment>) invocationArgument;
+        investments.forEach(action);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should stream the same text report as the in memory wallet")
+    void shouldStreamTheSameTextReportAsTheInMemoryWallet() throws Exception {
+        Wallet wallet = new Wallet();
+        Asset cdb = new Asset("Banco Inter", CDB, 0.1, date.plusYears(1));
+        Asset lca = new Asset("Banco XP", LCA, 0.05, date.plusYears(2));
+        for (int i = 1; i <= 10; i++) {
+            Investment investment = new Investment(i * 100.25, i % 2 == 0 ? cdb : lca);
+            wallet.addInvestment(investment);
+            if (i % 3 == 0) investment.setWithdrawDate(date);
+        }
+        when(walletRepository.findWithSummaryByUser_Id(userId)).thenReturn(Optional.of(wallet));
+        doAnswer(invocation -> {
+            stream(wallet.getInvestments(), invocation.getArgument(1));
+            return (long) wallet.getInvestments().size();
+        }).when(investmentExportService).forEachInvestment(eq(userId), any());
+        doAnswer(invocation -> {
+            stream(wallet.getHistoryInvestments(), invocation.getArgument(1));
+            return (long) wallet.getHistoryInvestments().size();
+        }).when(investmentExportService).forEachHistoryInvestment(eq(userId), any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        sut().export(userId, new TextWalletReportWriter(), mediaType -> out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(new WalletReportService(wallet).generateReport());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should not open the target when the wallet has no investments")
+    void shouldNotOpenTheTargetWhenTheWalletHasNoInvestments() {
+        when(walletRepository.findWithSummaryByUser_Id(userId)).thenReturn(Optional.of(new Wallet()));
+
+        assertThatThrownBy(() -> sut().export(userId, new TextWalletReportWriter(), mediaType -> {
+            throw new AssertionError("Target must not be opened");
+        }))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("There are no investments in this wallet");
+        verifyNoInteractions(investmentExportService);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should throw NoSuchElementException when wallet does not exists")
+    void shouldThrowNoSuchElementExceptionWhenWalletDoesNotExists() {
+        when(walletRepository.findWithSummaryByUser_Id(userId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> sut().export(userId, new TextWalletReportWriter(), mediaType -> new ByteArrayOutputStream()))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("This user has not a wallet: " + userId);
+    }
+}
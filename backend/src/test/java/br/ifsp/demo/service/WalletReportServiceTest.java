@@ -0,0 +1,124 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.domain.AssetType;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.Wallet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WalletReportServiceTest {
+    private final LocalDate date = LocalDate.now();
+
+    private static String referenceReport(Wallet wallet) {
+        StringBuilder report = new StringBuilder();
+        report.append("=========== WALLET REPORT ===========\n\n");
+        if (!wallet.getInvestments().isEmpty()) {
+            report.append("> Active Investments:\n");
+            for (Investment investment : wallet.getInvestments()) {
+                report.append("- ").append(investment.toString()).append("\n");
+            }
+            report.append("\n");
+        }
+        if (!wallet.getHistoryInvestments().isEmpty()) {
+            report.append("> Historical Investments:\n");
+            for (Investment investment : wallet.getHistoryInvestments()) {
+                report.append("- ").append(investment.toString()).append("\n");
+            }
+            report.append("\n");
+        }
+        report.append("> Current Total Balance: R$ ").append(String.format("%.2f", wallet.getTotalBalance())).append("\n");
+        report.append("> Future Investments Balance: R$ ").append(String.format("%.2f", wallet.getFutureBalance())).append("\n\n");
+        report.append("> Investment by Type: \n");
+        if (!wallet.getInvestments().isEmpty()) {
+            report.append("- Active investments by type: ").append("\n");
+            appendPercentages(report, wallet.filterInvestmentsByTypeAndPercentage(wallet.getInvestments()));
+            report.append("\n");
+        }
+        if (!wallet.getHistoryInvestments().isEmpty()) {
+            report.append("- Historical investments by type: ").append("\n");
+            appendPercentages(report, wallet.filterInvestmentsByTypeAndPercentage(wallet.getHistoryInvestments()));
+        }
+        return report.toString();
+    }
+
+    private static void appendPercentages(StringBuilder report, Map<AssetType, Double> percentages) {
+        percentages.forEach((type, percentage) -> report.append(" | ").append(type).append(": ")
+                .append(String.format("%.2f%%", percentage)));
+    }
+
+    private Wallet randomWallet(long seed, int size, boolean withHistory) {
+        Random random = new Random(seed);
+        AssetType[] types = AssetType.values();
+        Asset[] assets = new Asset[8];
+        for (int i = 0; i < assets.length; i++) {
+            double profitability = (random.nextInt(1_100) + 1_000) / 100_000.0;
+            assets[i] = new Asset("Asset Ç " + i, types[random.nextInt(types.length)], profitability, date.plusDays(30 + random.nextInt(2_000)));
+        }
+        Wallet wallet = new Wallet();
+        for (int i = 0; i < size; i++) {
+            double initialValue = Math.round(random.nextDouble() * 10_000_000) / 1000.0 + 0.005;
+            Investment investment = new Investment(initialValue, assets[random.nextInt(assets.length)]);
+            wallet.addInvestment(investment);
+            if (withHistory && random.nextBoolean()) investment.setWithdrawDate(date);
+        }
+        return wallet;
+    }
+
+    @ParameterizedTest
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @ValueSource(strings = {"pt-BR", "en-US"})
+    @DisplayName("Should render a report identical to the formatter based report")
+    void shouldRenderAReportIdenticalToTheFormatterBasedReport(String languageTag) {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag(languageTag));
+        try {
+            for (long seed = 0; seed < 20; seed++) {
+                Wallet wallet = randomWallet(seed, 1 + (int) seed * 25, seed % 3 != 0);
+                assertThat(new WalletReportService(wallet).generateReport()).isEqualTo(referenceReport(wallet));
+            }
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should write the same report into a writer")
+    void shouldWriteTheSameReportIntoAWriter() throws Exception {
+        Wallet wallet = randomWallet(42L, 100, true);
+        StringWriter writer = new StringWriter();
+
+        new WalletReportService(wallet).writeReport(writer);
+
+        assertThat(writer.toString()).isEqualTo(new WalletReportService(wallet).generateReport());
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Should not write anything when there are no investments")
+    void shouldNotWriteAnythingWhenThereAreNoInvestments() {
+        StringWriter writer = new StringWriter();
+
+        assertThatThrownBy(() -> new WalletReportService(new Wallet()).writeReport(writer))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("There are no investments in this wallet");
+        assertThat(writer.toString()).isEmpty();
+    }
+}
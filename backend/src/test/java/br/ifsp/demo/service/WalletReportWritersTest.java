@@ -0,0 +1,165 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.Wallet;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static br.ifsp.demo.domain.AssetType.CDB;
+import static br.ifsp.demo.domain.AssetType.LCI;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WalletReportWritersTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TextWalletReportWriter textWriter = new TextWalletReportWriter();
+    private final CsvWalletReportWriter csvWriter = new CsvWalletReportWriter();
+    private final JsonWalletReportWriter jsonWriter = new JsonWalletReportWriter(objectMapper);
+    private final WalletReportWriters sut = new WalletReportWriters(List.of(jsonWriter, csvWriter, textWriter));
+
+    private final LocalDate date = LocalDate.now();
+
+    private Wallet wallet() {
+        Wallet wallet = new Wallet();
+        wallet.addInvestment(new Investment(1000, new Asset("Banco \"Inter\", SA", CDB, 0.1, date.plusYears(1))));
+        Investment withdrawn = new Investment(500, new Asset("Banco XP", LCI, 0.05, date.plusYears(2)));
+        wallet.addInvestment(withdrawn);
+        withdrawn.setWithdrawDate(date);
+        return wallet;
+    }
+
+    private static String write(WalletReportWriter writer, Wallet wallet) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(WalletReportContent.of(wallet), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    class SelectWriter {
+        @ParameterizedTest
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @CsvSource(delimiter = '|', value = {
+                "text/plain | text/plain",
+                "text/csv | text/csv",
+                "application/json | application/json",
+                "*/* | text/plain",
+                "text/csv;q=0.5, application/json | application/json",
+                "application/xml, text/csv;q=0.8 | text/csv",
+                "application/* | application/json",
+                "application/json, text/plain, */* | text/plain",
+                "text/csv, application/json | text/csv",
+                "application/json, text/plain;q=0.9 | application/json"
+        })
+        @DisplayName("Should select the writer matching the Accept header")
+        void shouldSelectTheWriterMatchingTheAcceptHeader(String accept, String expected) throws Exception {
+            WalletReportWriter writer = sut.select(accept);
+
+            assertThat(writer.getMediaType().toString()).startsWith(expected);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Should default to the text report without Accept header")
+        void shouldDefaultToTheTextReportWithoutAcceptHeader() throws Exception {
+            assertThat(sut.select(null)).isSameAs(textWriter);
+            assertThat(sut.select(" ")).isSameAs(textWriter);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should reject unsupported or refused media types")
+        void shouldRejectUnsupportedOrRefusedMediaTypes() {
+            assertThatThrownBy(() -> sut.select("application/xml"))
+                    .isInstanceOf(HttpMediaTypeNotAcceptableException.class);
+            assertThatThrownBy(() -> sut.select("text/csv;q=0"))
+                    .isInstanceOf(HttpMediaTypeNotAcceptableException.class);
+            assertThatThrownBy(() -> sut.select("not a media type"))
+                    .isInstanceOf(HttpMediaTypeNotAcceptableException.class);
+        }
+    }
+
+    @Nested
+    class WriteReport {
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should write the text report exactly as the report service")
+        void shouldWriteTheTextReportExactlyAsTheReportService() throws Exception {
+            Wallet wallet = wallet();
+
+            assertThat(write(textWriter, wallet)).isEqualTo(new WalletReportService(wallet).generateReport());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should write one csv row per investment followed by balances and type breakdown")
+        void shouldWriteOneCsvRowPerInvestmentFollowedByBalancesAndTypeBreakdown() throws Exception {
+            Wallet wallet = wallet();
+            Investment active = wallet.getInvestments().getFirst();
+            Investment withdrawn = wallet.getHistoryInvestments().getFirst();
+
+            String[] lines = write(csvWriter, wallet).split("\n");
+
+            assertThat(lines[0]).isEqualTo("record,investment_id,asset_name,asset_type,initial_value,purchase_date,withdraw_date,current_balance,percentage");
+            assertThat(lines[1]).isEqualTo("ACTIVE," + active.getId() + ",\"Banco \"\"Inter\"\", SA\",CDB,1000.00," + date + ",,1000.00,");
+            assertThat(lines[2]).isEqualTo("HISTORY," + withdrawn.getId() + ",\"Banco XP\",LCI,500.00," + date + "," + date + ",500.00,");
+            assertThat(lines[3]).isEqualTo("TOTAL,,,,,,,1500.00,");
+            assertThat(lines[4]).startsWith("FUTURE,,,,,,,").endsWith(",");
+            assertThat(lines).contains("ACTIVE_BY_TYPE,,,CDB,,,,,100.00", "ACTIVE_BY_TYPE,,,LCI,,,,,0.00",
+                    "HISTORY_BY_TYPE,,,LCI,,,,,100.00");
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should write the json report as a single document")
+        void shouldWriteTheJsonReportAsASingleDocument() throws Exception {
+            Wallet wallet = wallet();
+            Investment active = wallet.getInvestments().getFirst();
+
+            JsonNode report = objectMapper.readTree(write(jsonWriter, wallet));
+
+            assertThat(report.get("active")).hasSize(1);
+            assertThat(report.get("history")).hasSize(1);
+            assertThat(report.get("active").get(0).get("id").asText()).isEqualTo(active.getId().toString());
+            assertThat(report.get("active").get(0).get("assetName").asText()).isEqualTo("Banco \"Inter\", SA");
+            assertThat(report.get("active").get(0).get("withdrawDate").isNull()).isTrue();
+            assertThat(report.get("history").get(0).get("withdrawDate").asText()).isEqualTo(date.toString());
+            assertThat(report.get("currentBalance").asDouble()).isEqualTo(wallet.getTotalBalance());
+            assertThat(report.get("futureBalance").asDouble()).isEqualTo(wallet.getFutureBalance());
+            assertThat(report.get("activeByType").get("CDB").asDouble()).isEqualTo(100.0);
+            assertThat(report.get("historyByType").get("LCI").asDouble()).isEqualTo(100.0);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @DisplayName("Should not let a report content be visited twice")
+        void shouldNotLetAReportContentBeVisitedTwice() throws Exception {
+            WalletReportContent content = WalletReportContent.of(wallet());
+            content.forEachActive(investment -> { });
+
+            assertThatThrownBy(() -> content.forEachActive(investment -> { }))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(content::getTotalBalance)
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
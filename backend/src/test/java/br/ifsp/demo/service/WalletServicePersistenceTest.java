@@ -0,0 +1,149 @@
+package br.ifsp.demo.service;
+
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.domain.Wallet;
+import br.ifsp.demo.repository.AssetRepository;
+import br.ifsp.demo.repository.WalletRepository;
+import br.ifsp.demo.security.user.Role;
+import br.ifsp.demo.security.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static br.ifsp.demo.domain.InvestmentFactory.createInvestmentWithPurchaseDate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:file:wallet-service-persistence-test?mode=memory&cache=shared&foreign_keys=true",
+        "spring.datasource.hikari.maximum-pool-size=1"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({WalletService.class, AssetService.class})
+class WalletServicePersistenceTest {
+
+    @Autowired
+    private WalletService sut;
+    @Autowired
+    private WalletRepository repository;
+    @Autowired
+    private AssetRepository assetRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private List<Asset> assets;
+    private Asset asset;
+
+    @BeforeEach
+    void setUp() {
+        assets = assetRepository.findAll();
+        asset = assets.get(0);
+    }
+
+    private UUID persistUser() {
+        UUID userId = UUID.randomUUID();
+        entityManager.persist(User.builder()
+                .id(userId)
+                .name("John")
+                .lastname("Snow")
+                .email(userId + "@snow.com")
+                .password("secret")
+                .role(Role.USER)
+                .build());
+        return userId;
+    }
+
+    private long countRows(String table, UUID walletId) {
+        Object count = entityManager.getEntityManager()
+                .createNativeQuery("select count(*) from " + table + " where wallet_id = :id")
+                .setParameter("id", walletId.toString())
+                .getSingleResult();
+        return ((Number) count).longValue();
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should create a wallet together with its empty summary")
+    void shouldCreateAWalletTogetherWithItsEmptySummary() {
+        UUID userId = persistUser();
+
+        Wallet created = sut.createWallet(userId);
+        entityManager.flush();
+        entityManager.clear();
+
+        Wallet wallet = repository.findWithSummaryByUser_Id(userId).orElseThrow();
+        assertThat(wallet.getId()).isEqualTo(created.getId());
+        assertThat(wallet.getFutureBalance()).isZero();
+        assertThat(countRows("wallet_summary", wallet.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should keep the summary of a new wallet in step with added investments")
+    void shouldKeepTheSummaryOfANewWalletInStepWithAddedInvestments() {
+        UUID userId = persistUser();
+        UUID walletId = sut.createWallet(userId).getId();
+
+        sut.addInvestment(userId, new Investment(100, asset));
+        sut.addInvestment(userId, new Investment(200, asset));
+        entityManager.flush();
+        entityManager.clear();
+
+        Wallet wallet = repository.findWithInvestmentsByUser_Id(userId).orElseThrow();
+        long futureBalanceInCents = wallet.getInvestments().stream()
+                .mapToLong(Investment::calculateFutureBalanceInCents)
+                .sum();
+        assertThat(wallet.getInvestments()).hasSize(2);
+        assertThat(countRows("wallet_summary", walletId)).isEqualTo(1);
+        assertThat(wallet.getFutureBalance()).isEqualTo(futureBalanceInCents / 100.0);
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should compute the total balance from the persisted summary")
+    void shouldComputeTheTotalBalanceFromThePersistedSummary() {
+        UUID userId = persistUser();
+        sut.createWallet(userId);
+        for (int i = 0; i < 30; i++) {
+            Asset owned = assets.get(i % assets.size());
+            sut.addInvestment(userId, createInvestmentWithPurchaseDate(100 + i * 10.55, owned, LocalDate.now().minusDays(i * 17L)));
+        }
+        endRequest();
+        List<Investment> investments = sut.getInvestments(userId);
+        endRequest();
+        sut.withdrawInvestment(userId, investments.get(0).getId(), LocalDate.now());
+        endRequest();
+        sut.removeInvestment(userId, investments.get(1).getId());
+        endRequest();
+
+        Wallet wallet = repository.findWithInvestmentsByUser_Id(userId).orElseThrow();
+        long realizedInCents = wallet.getHistoryInvestments().stream()
+                .mapToLong(Investment::calculateCurrentBalanceInCents)
+                .sum();
+        long activeInCents = wallet.getInvestments().stream()
+                .mapToLong(Investment::calculateCurrentBalanceInCents)
+                .sum();
+        double expected = wallet.getTotalBalance();
+        endRequest();
+
+        assertThat(wallet.getHistoryInvestments()).hasSize(1);
+        assertThat(sut.getTotalBalance(userId)).isEqualTo(expected)
+                .isCloseTo((realizedInCents + activeInCents) / 100.0, within(wallet.getInvestments().size() * 0.005));
+    }
+
+    private void endRequest() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -2,15 +2,18 @@ package br.ifsp.demo.service;
 
 import br.ifsp.demo.domain.*;
 import br.ifsp.demo.exception.EntityAlreadyExistsException;
+import br.ifsp.demo.repository.InvestmentRepository;
 import br.ifsp.demo.repository.WalletRepository;
 import br.ifsp.demo.security.user.JpaUserRepository;
 import br.ifsp.demo.security.user.User;
+import jakarta.persistence.EntityManager;
 import org.assertj.core.api.SoftAssertions;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -18,9 +21,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import static br.ifsp.demo.domain.AssetType.*;
@@ -30,7 +38,12 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,6 +56,12 @@ class WalletServiceTest {
     private WalletRepository repository;
     @Mock
     private JpaUserRepository jpaUserRepository;
+    @Mock
+    private InvestmentRepository investmentRepository;
+    @Mock
+    private AssetService assetService;
+    @Mock
+    private EntityManager entityManager;
     @InjectMocks
     private WalletService sut;
 
@@ -52,6 +71,35 @@ class WalletServiceTest {
         date = LocalDate.of(2025, 4, 25);
         user = new User();
         user.setId(UUID.randomUUID());
+        answerInvestmentQueriesFromStoredWallet();
+    }
+
+    private void answerInvestmentQueriesFromStoredWallet() {
+        lenient().when(repository.existsByUser_Id(any())).thenAnswer(call ->
+                repository.findWithInvestmentsByUser_Id(call.getArgument(0)).isPresent());
+        lenient().when(investmentRepository.findActiveByUserIdAndAssetType(any(), any())).thenAnswer(call ->
+                storedInvestments(call.getArgument(0), Wallet::getInvestments, ofType(call.getArgument(1))));
+        lenient().when(investmentRepository.findActiveByUserIdAndPurchaseDateBetween(any(), any(), any())).thenAnswer(call ->
+                storedInvestments(call.getArgument(0), Wallet::getInvestments, purchasedBetween(call.getArgument(1), call.getArgument(2))));
+        lenient().when(investmentRepository.findHistoryByUserIdAndAssetType(any(), any())).thenAnswer(call ->
+                storedInvestments(call.getArgument(0), Wallet::getHistoryInvestments, ofType(call.getArgument(1))));
+        lenient().when(investmentRepository.findHistoryByUserIdAndPurchaseDateBetween(any(), any(), any())).thenAnswer(call ->
+                storedInvestments(call.getArgument(0), Wallet::getHistoryInvestments, purchasedBetween(call.getArgument(1), call.getArgument(2))));
+    }
+
+    private List<Investment> storedInvestments(UUID userId, Function<Wallet, List<Investment>> status, Predicate<Investment> filter) {
+        return repository.findWithInvestmentsByUser_Id(userId)
+                .map(status)
+                .map(investments -> investments.stream().filter(filter).toList())
+                .orElse(List.of());
+    }
+
+    private static Predicate<Investment> ofType(AssetType assetType) {
+        return investment -> investment.getAsset().getAssetType() == assetType;
+    }
+
+    private static Predicate<Investment> purchasedBetween(LocalDate initialDate, LocalDate finalDate) {
+        return investment -> !investment.getPurchaseDate().isBefore(initialDate) && !investment.getPurchaseDate().isAfter(finalDate);
     }
 
     @Nested
@@ -62,7 +110,7 @@ class WalletServiceTest {
         @Tag("TDD")
         @DisplayName("Should successfully register an investment")
         void shouldSuccessfullyRegisterAnInvestment() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Asset asset = new Asset("Banco Inter", CDB, 0.01, date.plusYears(1));
             Investment investment1 = new Investment(100, asset);
@@ -84,7 +132,7 @@ class WalletServiceTest {
             Investment investment = new Investment(100, asset);
 
             UUID randomId = UUID.randomUUID();
-            when(repository.findByUser_Id(randomId)).thenReturn(Optional.empty());
+            when(repository.findWithInvestmentsByUser_Id(randomId)).thenReturn(Optional.empty());
 
             assertThrows(NoSuchElementException.class, () -> {
                 sut.addInvestment(randomId, investment);
@@ -114,7 +162,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should throw EntityAlreadyExistsException when Investment id already exists on Wallet")
         void shouldThrowEntityAlreadyExistsExceptionWhenInvestmentIdAlreadyExistsInWallet() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Asset asset = new Asset("Banco Inter", CDB, 0.01, date.plusYears(1));
             Investment investment = new Investment(100, asset);
@@ -134,7 +182,7 @@ class WalletServiceTest {
         @Tag("TDD")
         @DisplayName("Should withdraw an investment")
         void shouldWithdrawAnInvestment() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Asset asset = new Asset("Banco Inter", CDB, 0.01, date.plusYears(1));
             Investment investment = new Investment(100, asset);
@@ -150,7 +198,7 @@ class WalletServiceTest {
         @Tag("TDD")
         @DisplayName("Should return NoSuchElementException if the investment does not exist")
         void shouldReturnNoSuchElementExceptionIfTheInvestmentDoesNotExist() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Asset asset = new Asset("Banco Inter", CDB, 0.01, date.plusYears(1));
             Investment investment = new Investment(100, asset);
@@ -169,7 +217,7 @@ class WalletServiceTest {
         @DisplayName("Should return NoSuchElementException if the wallet does not exist")
         void shouldReturnNoSuchElementExceptionIfTheWalletDoesNotExist() {
             UUID randomId = UUID.randomUUID();
-            when(repository.findByUser_Id(randomId)).thenReturn(Optional.empty());
+            when(repository.findWithInvestmentsByUser_Id(randomId)).thenReturn(Optional.empty());
 
             Asset asset = new Asset("Banco Inter", CDB, 0.01, date.plusYears(1));
             Investment investment = new Investment(100, asset);
@@ -184,7 +232,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should return NoSuchElementException when wallet has no investment")
         void shouldReturnNoSuchElementExceptionWhenWalletHasNoInvestment() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Investment investment = new Investment(100, new Asset("Banco Inter", CDB, 0.01, date.plusYears(1)));
 
@@ -198,7 +246,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should mark investment as withdrawn and move to history when single investment in wallet")
         void shouldMarkInvestmentAsWithdrawnAndMoveToHistoryWhenSingleInvestmentInWallet() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Investment investment = new Investment(100, new Asset("Banco Inter", CDB, 0.01, date.plusYears(1)));
             sut.addInvestment(user.getId(), investment);
@@ -215,7 +263,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should mark investment as withdrawn and move to history when many investments in wallet")
         void shouldMarkInvestmentAsWithdrawnAndMoveToHistoryWhenManyInvestmentsInWallet() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Investment investment = new Investment(100, new Asset("Banco Inter", CDB, 0.01, date.plusYears(1)));
             Investment investment2 = new Investment(150, new Asset("Banco Bradesco", CDB, 0.01, date.plusYears(1)));
@@ -253,7 +301,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should move investment to history when withdrawing")
         void shouldMoveInvestmentToHistoryWhenWithdrawing() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
             SoftAssertions softly = new SoftAssertions();
 
             Investment investment = new Investment(100, new Asset("Banco Inter", CDB, 0.01, date.plusYears(1)));
@@ -273,7 +321,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should throw EntityAlreadyExistsException if addToHistory fails")
         void shouldThrowEntityAlreadyExistsExceptionIfAddToHistoryFails() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
             Investment investment = new Investment(100, new Asset("Banco Inter", CDB, 0.01, date.plusYears(1)));
 
             sut.addInvestment(user.getId(), investment);
@@ -297,7 +345,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should return all investments on wallet")
         void shouldReturnAllInvestmentsOnWallet() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
             Asset asset = new Asset("Banco Inter", CDB, 0.01, date.plusYears(1));
             Investment investment1 = createInvestmentWithPurchaseDate(1000, asset, date);
             Investment investment2 = createInvestmentWithPurchaseDate(1500, asset, date);
@@ -315,7 +363,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("shouldReturnAnEmptyListWhenThereIsNoInvestments")
         void shouldReturnAnEmptyListWhenThereIsNoInvestments() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             List<Investment> result = sut.getInvestments(user.getId());
             assertThat(result).isEqualTo(List.of());
@@ -327,7 +375,7 @@ class WalletServiceTest {
         @DisplayName("Should return NoSuchElementException if wallet does not exists")
         void shouldReturnNoSuchElementExceptionIfWalletDoesNotExists() {
             UUID randomId = UUID.randomUUID();
-            when(repository.findByUser_Id(randomId)).thenReturn(Optional.empty());
+            when(repository.findWithInvestmentsByUser_Id(randomId)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> sut.getInvestments(randomId))
                     .isInstanceOf(NoSuchElementException.class)
@@ -350,8 +398,8 @@ class WalletServiceTest {
         @MethodSource("getDataToGetInvestmentsTests")
         @DisplayName("should correct return the list of investments")
         void shouldCorrectReturnTheListOfInvestments(List<Investment> investments) {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             investments.forEach(investment -> sut.addInvestment(user.getId(), investment));
             assertThat(sut.getInvestments(user.getId())).isEqualTo(investments);
@@ -378,7 +426,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should return all history investments on wallet")
         void shouldReturnAllHistoryInvestmentsOnWallet() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Asset asset = new Asset("Banco Inter", CDB, 0.01, date.plusYears(1));
             Investment investment1 = new Investment(1000, asset);
@@ -401,7 +449,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("shouldReturnAnEmptyListWhenThereIsNoHistoryInvestments")
         void shouldReturnAnEmptyListWhenThereIsNoHistoryInvestments() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             List<Investment> result = sut.getHistoryInvestments(user.getId());
             assertThat(result).isEqualTo(List.of());
@@ -413,7 +461,7 @@ class WalletServiceTest {
         @DisplayName("Should return NoSuchElementException if wallet does not exists")
         void shouldReturnNoSuchElementExceptionIfWalletDoesNotExists() {
             UUID randomId = UUID.randomUUID();
-            when(repository.findByUser_Id(randomId)).thenReturn(Optional.empty());
+            when(repository.findWithInvestmentsByUser_Id(randomId)).thenReturn(Optional.empty());
             assertThrows(NoSuchElementException.class, () -> {
                 sut.getHistoryInvestments(randomId);
             });
@@ -435,7 +483,7 @@ class WalletServiceTest {
         @MethodSource("getDataToGetHistoryInvestmentsTests")
         @DisplayName("Should correct return the list of investments on history")
         void shouldCorrectReturnTheListOfInvestmentsOnHistory(List<Investment> investments) {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             investments.forEach(investment -> {
                 sut.addInvestment(user.getId(), investment);
@@ -465,7 +513,7 @@ class WalletServiceTest {
         @Tag("TDD")
         @DisplayName("Should return investments when filtered by asset type")
         void shouldReturnInvestmentsWhenFilteredByAssetType() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Investment investment1 = new Investment(1000, new Asset("Banco Inter", CDB, 0.01, date.plusYears(1)));
             Investment investment2 = new Investment(1500, new Asset("Banco Bradesco", CDB, 0.01, date.plusYears(1)));
@@ -494,7 +542,7 @@ class WalletServiceTest {
         @Tag("TDD")
         @DisplayName("Should return investments when filtered by date")
         void shouldReturnInvestmentsWhenFilteredByDate() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             LocalDate initialDate = date.minusMonths(1);
             LocalDate finalDate = date.plusMonths(1);
@@ -515,7 +563,7 @@ class WalletServiceTest {
         @Tag("TDD")
         @DisplayName("Should return an empty list when filter has no match")
         void shouldReturnAnEmptyListWhenTypeFilterHasNoMatch(List<Investment> investments, AssetType assetType) {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             investments.forEach(investment -> sut.addInvestment(user.getId(), investment));
             investments.forEach(investment -> sut.withdrawInvestment(user.getId(), investment.getId(), date));
@@ -532,7 +580,7 @@ class WalletServiceTest {
         @Tag("TDD")
         @DisplayName("Should return an empty list when date filter has no match")
         void shouldReturnAnEmptyListWhenDateFilterHasNoMatch(List<Investment> investments, LocalDate initialDate, LocalDate finalDate) {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             investments.forEach(investment -> sut.addInvestment(user.getId(), investment));
             investments.forEach(investment -> sut.withdrawInvestment(user.getId(), investment.getId(), date));
@@ -570,7 +618,7 @@ class WalletServiceTest {
         @DisplayName("Should return NoSuchElementException if wallet does not exists")
         void shouldReturnNoSuchElementExceptionIfWalletDoesNotExists() {
             UUID randomId = UUID.randomUUID();
-            when(repository.findByUser_Id(randomId)).thenReturn(Optional.empty());
+            when(repository.findWithInvestmentsByUser_Id(randomId)).thenReturn(Optional.empty());
             assertThrows(NoSuchElementException.class, () -> {
                 sut.filterHistory(randomId, CDB);
             });
@@ -602,7 +650,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should an empty list when has no history data with this filter")
         void shouldAnEmptyListWhenHasNoHistoryDataWithThisFilter(List<Investment> investments, AssetType assetType) {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             investments.forEach(investment -> {
                 sut.addInvestment(user.getId(), investment);
@@ -618,7 +666,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should correct return the list of investments on history with this filter")
         void shouldCorrectReturnTheListOfInvestmentsOnHistoryWithThisFilter(List<Investment> investments, AssetType assetType, List<Investment> expected) {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             investments.forEach(investment -> {
                 sut.addInvestment(user.getId(), investment);
@@ -650,7 +698,7 @@ class WalletServiceTest {
             LocalDate start = date.plusMonths(1);
             LocalDate end = date.plusMonths(2);
             UUID randomId = UUID.randomUUID();
-            when(repository.findByUser_Id(randomId)).thenReturn(Optional.empty());
+            when(repository.findWithInvestmentsByUser_Id(randomId)).thenReturn(Optional.empty());
             assertThrows(NoSuchElementException.class, () -> {
                 sut.filterHistory(randomId, start, end);
             });
@@ -680,11 +728,11 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should return an empty list when history is empty")
         void shouldReturnAnEmptyListWhenHistoryIsEmpty() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             LocalDate start = LocalDate.now().plusMonths(1);
             LocalDate end = LocalDate.now().plusMonths(2);
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
             List<Investment> result = sut.filterHistory(user.getId(), start, end);
 
             assertThat(result).isEqualTo(List.of());
@@ -696,7 +744,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should return an empty list when there is no history data in this filter")
         void shouldReturnAnEmptyListWhenThereIsNoHistoryDataInThisFilter(LocalDate initialDate, LocalDate finalDate) {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Asset assetCDB = new Asset("Banco Inter", CDB, 0.1, LocalDate.now().plusYears(1));
             Investment investmentCDB = new Investment(1000, assetCDB);
@@ -718,7 +766,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should return a list with more then one item with this filter")
         void shouldReturnAListWithMoreThenOneItemWithThisFilter() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Asset assetCDB = new Asset("Banco Inter", CDB, 0.1, LocalDate.now().plusYears(1));
             Asset assetLCI = new Asset("Banco Itau", LCI, 0.1, LocalDate.now().plusYears(1));
@@ -749,7 +797,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should return a list with one item when filter by limit dates")
         void shouldReturnAListWithOneItemWhenFilterByLimitDates(LocalDate initialDate, LocalDate finalDate) {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Asset assetCDB = new Asset("Banco Inter", CDB, 0.1, LocalDate.now().plusYears(1));
             Investment investmentCDB = new Investment(1000, assetCDB);
@@ -774,7 +822,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("ShouldReturn2of3InvestmentsOnHistoryWithThisFilter")
         void shouldReturn2Of3InvestmentsOnHistoryWithThisFilter() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Asset assetCDB = new Asset("Banco Inter", CDB, 0.1, LocalDate.now().plusYears(1));
             Asset assetLCI = new Asset("Banco Itau", LCI, 0.1, LocalDate.now().plusYears(1));
@@ -803,7 +851,7 @@ class WalletServiceTest {
         @MethodSource("provideScenariosForEmptyTypeFilterActiveInvestments")
         @DisplayName("Should return an empty list if there is no active investments when filter by type")
         void shouldReturnAnEmptyListIfThereIsNoActiveInvestmentsWhenFilterByType(List<Investment> registeredInvestments, AssetType assetType) {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             registeredInvestments.forEach(investment -> sut.addInvestment(user.getId(), investment));
 
@@ -818,7 +866,7 @@ class WalletServiceTest {
         @MethodSource("provideScenariosForEmptyDateFilterActiveInvestments")
         @DisplayName("Should return an empty list if there is no active investments when filter by date")
         void shouldReturnAnEmptyListIfThereIsNoActiveInvestmentsWhenFilterByDate(List<Investment> registeredInvestments, LocalDate initialDate, LocalDate finalDate) {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             registeredInvestments.forEach(investment -> sut.addInvestment(user.getId(), investment));
 
@@ -832,7 +880,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should return the active investments found when filter by type")
         void shouldReturnTheActiveInvestmentsFoundWhenFilterByType() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Asset assetCDB = new Asset("Banco Inter", CDB, 0.1, date.plusMonths(2));
             Investment investment = new Investment(1000, assetCDB);
@@ -847,7 +895,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should return the active investments found when filter by date")
         void shouldReturnTheActiveInvestmentsFoundWhenFilterByDate() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Asset assetCDB = new Asset("Banco Inter", CDB, 0.1, date.plusMonths(2));
             Investment investment = createInvestmentWithPurchaseDate(1000, assetCDB, date);
@@ -884,7 +932,7 @@ class WalletServiceTest {
         @DisplayName("Should return NoSuchElementException if wallet does not exists")
         void shouldReturnNoSuchElementExceptionIfWalletDoesNotExists() {
             UUID randomId = UUID.randomUUID();
-            when(repository.findByUser_Id(randomId)).thenReturn(Optional.empty());
+            when(repository.findWithInvestmentsByUser_Id(randomId)).thenReturn(Optional.empty());
             assertThrows(NoSuchElementException.class, () -> {
                 sut.filterActiveInvestments(randomId, CDB);
             });
@@ -916,7 +964,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should an empty list when has no data with this filter")
         void shouldAnEmptyListWhenHasNoDataWithThisFilter(List<Investment> investments, AssetType assetType) {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             investments.forEach(investment -> sut.addInvestment(user.getId(), investment));
 
@@ -929,7 +977,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should correct return the list of investments with this filter")
         void shouldCorrectReturnTheListOfInvestmentsWithThisFilter(List<Investment> investments, AssetType assetType, List<Investment> expected) {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             investments.forEach(investment -> sut.addInvestment(user.getId(), investment));
 
@@ -958,7 +1006,7 @@ class WalletServiceTest {
             UUID randomId = UUID.randomUUID();
             LocalDate start = date.plusMonths(1);
             LocalDate end = date.plusMonths(2);
-            when(repository.findByUser_Id(randomId)).thenReturn(Optional.empty());
+            when(repository.findWithInvestmentsByUser_Id(randomId)).thenReturn(Optional.empty());
             assertThrows(NoSuchElementException.class, () -> {
                 sut.filterActiveInvestments(randomId, start, end);
             });
@@ -988,11 +1036,11 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should return an empty list when investments is empty")
         void shouldReturnAnEmptyListWhenInvestmentsIsEmpty() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             LocalDate start = LocalDate.now().plusMonths(1);
             LocalDate end = LocalDate.now().plusMonths(2);
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
             List<Investment> result = sut.filterActiveInvestments(user.getId(), start, end);
 
             assertThat(result).isEqualTo(List.of());
@@ -1004,7 +1052,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should return an empty list when there is no data in this filter")
         void shouldReturnAnEmptyListWhenThereIsNoDataInThisFilter(LocalDate initialDate, LocalDate finalDate) {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Asset assetCDB = new Asset("Banco Inter", CDB, 0.1, LocalDate.now().plusYears(1));
             Investment investmentCDB = new Investment(1000, assetCDB);
@@ -1025,7 +1073,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should return a list with more then one item with this filter")
         void shouldReturnAListWithMoreThenOneItemWithThisFilter() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Asset assetCDB = new Asset("Banco Inter", CDB, 0.1, LocalDate.now().plusYears(1));
             Asset assetLCI = new Asset("Banco Itau", LCI, 0.1, LocalDate.now().plusYears(1));
@@ -1052,7 +1100,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should return a list with one item when filter by limit dates")
         void shouldReturnAListWithOneItemWhenFilterByLimitDates(LocalDate initialDate, LocalDate finalDate) {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Asset assetCDB = new Asset("Banco Inter", CDB, 0.1, LocalDate.now().plusYears(1));
             Investment investmentCDB = new Investment(1000, assetCDB);
@@ -1076,7 +1124,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("ShouldReturn2of3InvestmentsWithThisFilter")
         void shouldReturn2Of3InvestmentsWithThisFilter() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Asset assetCDB = new Asset("Banco Inter", CDB, 0.1, LocalDate.now().plusYears(1));
             Asset assetLCI = new Asset("Banco Itau", LCI, 0.1, LocalDate.now().plusYears(1));
@@ -1102,7 +1150,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should throw NoSuchElementException when there are no investments")
         void shouldThrowNoSuchElementExceptionWhenThereAreNoInvestments() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             assertThatThrownBy(() -> sut.generateReport(user.getId()))
                     .isInstanceOf(NoSuchElementException.class)
@@ -1116,7 +1164,7 @@ class WalletServiceTest {
         @DisplayName("Should throw NoSuchElementException when Wallet does not exist")
         void shouldThrowNoSuchElementExceptionWhenWalletDoesNotExist() {
             UUID userId = UUID.randomUUID();
-            when(repository.findByUser_Id(userId)).thenReturn(Optional.empty());
+            when(repository.findWithInvestmentsByUser_Id(userId)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> sut.generateReport(userId))
                     .isInstanceOf(NoSuchElementException.class)
@@ -1141,7 +1189,7 @@ class WalletServiceTest {
         @DisplayName("Should return report when there is investments")
         void shouldReturnReportWhenThereIsInvestments(Wallet wallet, List<String> expectedParts) {
             user.setWallet(wallet);
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             String report = sut.generateReport(user.getId());
 
@@ -1277,10 +1325,11 @@ class WalletServiceTest {
         void shouldCreateWalletAndDefineWalletUser(){
             when(jpaUserRepository.findById(user.getId())).thenReturn(Optional.of(user));
             ArgumentCaptor<Wallet> walletCaptor = ArgumentCaptor.forClass(Wallet.class);
-            when(repository.save(walletCaptor.capture())).thenAnswer(invocation -> invocation.getArgument(0));
 
             Wallet result = sut.createWallet(user.getId());
 
+            verify(entityManager).persist(walletCaptor.capture());
+            verify(repository, never()).save(any());
             Wallet savedWallet = walletCaptor.getValue();
             assertThat(savedWallet.getUser()).isEqualTo(user);
             assertThat(result).isEqualTo(savedWallet);
@@ -1305,7 +1354,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should return a wallet")
         void shouldReturnAWallet(){
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
             Wallet wallet = sut.getWallet(user.getId());
             assertThat(sut.getWallet(user.getId())).isEqualTo(wallet);
         }
@@ -1315,7 +1364,7 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should return NoSuchElementException if returns an empty wallet")
         void shouldReturnNoSuchElementExceptionIfReturnsAnEmptyWallet() {
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.empty());
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.empty());
 
             assertThrows(NoSuchElementException.class, () -> sut.getWallet(user.getId()));
         }
@@ -1353,7 +1402,7 @@ class WalletServiceTest {
         void shouldReturnNoSuchElementExceptionIfInvestmentIsNotInTheWallet() {
             UUID randomId = UUID.randomUUID();
 
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
             assertThatThrownBy(() -> sut.getInvestmentById(user.getId(), randomId))
                     .isInstanceOf(NoSuchElementException.class)
                     .hasMessage("Investment not found: " + randomId);
@@ -1366,7 +1415,7 @@ class WalletServiceTest {
         void shouldReturnAnInvestment(){
             Investment investment = new Investment(1000, new Asset("Banco Inter", CDB, 0.1, LocalDate.now()));
             wallet.addInvestment(investment);
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             Investment result = sut.getInvestmentById(user.getId(), investment.getId());
 
@@ -1392,11 +1441,26 @@ class WalletServiceTest {
         @Tag("Functional")
         @DisplayName("Should return total balance")
         void shouldReturnTotalBalance(){
-            Investment investment = new Investment(1000, new Asset("Banco Inter", CDB, 0.1, LocalDate.now()));
+            Asset asset = new Asset("Banco Inter", CDB, 0.1, LocalDate.now());
+            Investment investment = new Investment(1000, asset);
             wallet.addInvestment(investment);
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithSummaryByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(assetService.getAssetsByIds(Set.of(asset.getId()))).thenReturn(Map.of(asset.getId(), asset));
 
             assertThat(sut.getTotalBalance(user.getId())).isEqualTo(wallet.getTotalBalance());
+            verify(repository, never()).findWithInvestmentsByUser_Id(any());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should throw NoSuchElementException when wallet does not exists")
+        void shouldThrowNoSuchElementExceptionWhenWalletDoesNotExists() {
+            when(repository.findWithSummaryByUser_Id(user.getId())).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> sut.getTotalBalance(user.getId()))
+                    .isInstanceOf(NoSuchElementException.class)
+                    .hasMessage("This user has not a wallet: " + user.getId());
         }
     }
 
@@ -1420,10 +1484,220 @@ class WalletServiceTest {
         void shouldReturnTotalBalance(){
             Investment investment = new Investment(1000, new Asset("Banco Inter", CDB, 0.1, LocalDate.now()));
             wallet.addInvestment(investment);
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithSummaryByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
 
             assertThat(sut.getFutureBalance(user.getId())).isEqualTo(wallet.getFutureBalance());
         }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should read future balance from the wallet summary without loading investments")
+        void shouldReadFutureBalanceFromTheWalletSummaryWithoutLoadingInvestments() {
+            when(repository.findWithSummaryByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+
+            sut.getFutureBalance(user.getId());
+
+            verify(repository).findWithSummaryByUser_Id(user.getId());
+            verify(repository, never()).findWithInvestmentsByUser_Id(any());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should throw NoSuchElementException when user has no wallet")
+        void shouldThrowNoSuchElementExceptionWhenUserHasNoWallet() {
+            assertThatThrownBy(() -> sut.getFutureBalance(user.getId()))
+                    .isInstanceOf(NoSuchElementException.class)
+                    .hasMessage("This user has not a wallet: " + user.getId());
+        }
+    }
+
+    @Nested
+    class GetBalanceProjection {
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should return NullPointerException if userId is null")
+        void shouldReturnNullPointerExceptionIfUserIdIsNull() {
+            assertThatThrownBy(() -> sut.getBalanceProjection(null, date, date, 1))
+                    .isInstanceOf(NullPointerException.class)
+                    .hasMessage("User id cannot be null");
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should project the wallet balance on the requested grid")
+        void shouldProjectTheWalletBalanceOnTheRequestedGrid() {
+            Investment investment = createInvestmentWithPurchaseDate(1000, new Asset("Banco Inter", CDB, 0.1, date.plusYears(1)), date);
+            wallet.addInvestment(investment);
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+
+            BalanceProjection projection = sut.getBalanceProjection(user.getId(), date, date.plusDays(60), 30);
+
+            assertThat(projection.balances()).containsExactly(1000.0, 1100.0, 1210.0);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should throw NoSuchElementException when user has no wallet")
+        void shouldThrowNoSuchElementExceptionWhenUserHasNoWallet() {
+            assertThatThrownBy(() -> sut.getBalanceProjection(user.getId(), date, date, 1))
+                    .isInstanceOf(NoSuchElementException.class);
+        }
+    }
+
+    @Nested
+    class WalletLookups {
+        private Investment active;
+        private Investment withdrawn;
+
+        @BeforeEach
+        void setUp() {
+            Asset asset = new Asset("Banco Inter", CDB, 0.1, date.plusYears(1));
+            active = createInvestmentWithPurchaseDate(1000, asset, date);
+            withdrawn = createInvestmentWithPurchaseDate(500, asset, date);
+            wallet.addInvestment(active);
+            wallet.addInvestment(withdrawn);
+            withdrawn.setWithdrawDate(date);
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+        }
+
+        private static Stream<Arguments> provideReadOperations() {
+            return Stream.of(
+                    Arguments.of("getWallet", (BiConsumer<WalletService, UUID>) (service, userId) -> service.getWallet(userId)),
+                    Arguments.of("getInvestments", (BiConsumer<WalletService, UUID>) (service, userId) -> service.getInvestments(userId)),
+                    Arguments.of("getHistoryInvestments", (BiConsumer<WalletService, UUID>) (service, userId) -> service.getHistoryInvestments(userId)),
+                    Arguments.of("generateReport", (BiConsumer<WalletService, UUID>) (service, userId) -> service.generateReport(userId))
+            );
+        }
+
+        @ParameterizedTest(name = "{0}")
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @MethodSource("provideReadOperations")
+        @DisplayName("Should load the wallet only once per read operation")
+        void shouldLoadTheWalletOnlyOncePerReadOperation(String operation, BiConsumer<WalletService, UUID> call) {
+            call.accept(sut, user.getId());
+
+            verify(repository, times(1)).findWithInvestmentsByUser_Id(user.getId());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should delegate filters to the investment repository")
+        void shouldDelegateFiltersToTheInvestmentRepository() {
+            SoftAssertions softly = new SoftAssertions();
+            softly.assertThat(sut.filterHistory(user.getId(), CDB)).containsExactly(withdrawn);
+            softly.assertThat(sut.filterHistory(user.getId(), date, date)).containsExactly(withdrawn);
+            softly.assertThat(sut.filterActiveInvestments(user.getId(), CDB)).containsExactly(active);
+            softly.assertThat(sut.filterActiveInvestments(user.getId(), date, date)).containsExactly(active);
+            softly.assertAll();
+
+            verify(investmentRepository).findHistoryByUserIdAndAssetType(user.getId(), CDB);
+            verify(investmentRepository).findHistoryByUserIdAndPurchaseDateBetween(user.getId(), date, date);
+            verify(investmentRepository).findActiveByUserIdAndAssetType(user.getId(), CDB);
+            verify(investmentRepository).findActiveByUserIdAndPurchaseDateBetween(user.getId(), date, date);
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should load the wallet only once when looking up an investment")
+        void shouldLoadTheWalletOnlyOnceWhenLookingUpAnInvestment() {
+            sut.getInvestmentById(user.getId(), active.getId());
+
+            verify(repository, times(1)).findWithInvestmentsByUser_Id(user.getId());
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should load the wallet only once per write operation")
+        void shouldLoadTheWalletOnlyOncePerWriteOperation() {
+            Investment investment = createInvestmentWithPurchaseDate(100, new Asset("Banco Inter", CDB, 0.01, date.plusYears(1)), date);
+
+            sut.addInvestment(user.getId(), investment);
+            verify(repository, times(1)).findWithInvestmentsByUser_Id(user.getId());
+
+            sut.withdrawInvestment(user.getId(), investment.getId(), date);
+            verify(repository, times(2)).findWithInvestmentsByUser_Id(user.getId());
+
+            sut.removeInvestment(user.getId(), active.getId());
+            verify(repository, times(3)).findWithInvestmentsByUser_Id(user.getId());
+        }
+    }
+
+    @Nested
+    class InvestmentPages {
+        private final Asset asset = new Asset("Banco Inter", CDB, 0.1, LocalDate.of(2026, 4, 25));
+
+        private List<Investment> investments(int count) {
+            return Stream.iterate(0, i -> i + 1)
+                    .limit(count)
+                    .map(i -> createInvestmentWithPurchaseDate(1000, asset, date.plusDays(i)))
+                    .toList();
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should return the next cursor when there are more investments than the page size")
+        void shouldReturnTheNextCursorWhenThereAreMoreInvestmentsThanThePageSize() {
+            List<Investment> fetched = investments(3);
+            when(investmentRepository.findActivePage(user.getId(), InvestmentFilter.NONE, null, 3))
+                    .thenReturn(fetched);
+
+            InvestmentPage page = sut.getInvestmentsPage(user.getId(), InvestmentFilter.NONE, null, 2);
+
+            SoftAssertions softly = new SoftAssertions();
+            softly.assertThat(page.investments()).containsExactly(fetched.get(0), fetched.get(1));
+            softly.assertThat(page.getNextCursor()).contains(InvestmentCursor.of(fetched.get(1)));
+            softly.assertAll();
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should continue after the cursor with the requested filter")
+        void shouldContinueAfterTheCursorWithTheRequestedFilter() {
+            List<Investment> fetched = investments(1);
+            InvestmentCursor after = new InvestmentCursor(date, UUID.randomUUID());
+            InvestmentFilter filter = new InvestmentFilter(CDB, date, date.plusMonths(1));
+            when(investmentRepository.findHistoryPage(user.getId(), filter, after, 3))
+                    .thenReturn(fetched);
+
+            InvestmentPage page = sut.getHistoryPage(user.getId(), filter, after, 2);
+
+            assertThat(page.investments()).isEqualTo(fetched);
+            assertThat(page.getNextCursor()).isEmpty();
+        }
+
+        @ParameterizedTest
+        @Tag("UnitTest")
+        @Tag("Structural")
+        @ValueSource(ints = {0, WalletService.MAX_PAGE_SIZE + 1})
+        @DisplayName("Should throw IllegalArgumentException when page size is out of bounds")
+        void shouldThrowIllegalArgumentExceptionWhenPageSizeIsOutOfBounds(int size) {
+            assertThrows(IllegalArgumentException.class, () ->
+                    sut.getInvestmentsPage(user.getId(), InvestmentFilter.NONE, null, size));
+        }
+
+        @Test
+        @Tag("UnitTest")
+        @Tag("Functional")
+        @DisplayName("Should throw NoSuchElementException when wallet does not exists")
+        void shouldThrowNoSuchElementExceptionWhenWalletDoesNotExists() {
+            UUID randomId = UUID.randomUUID();
+            when(repository.findWithInvestmentsByUser_Id(randomId)).thenReturn(Optional.empty());
+
+            assertThrows(NoSuchElementException.class, () ->
+                    sut.getHistoryPage(randomId, InvestmentFilter.NONE, null, 10));
+        }
     }
 
     @Nested
@@ -1435,7 +1709,7 @@ class WalletServiceTest {
         void shouldRemoveInvestmentsSaved(){
             Investment investment = new Investment(1000, new Asset("Banco Inter", CDB, 0.1, LocalDate.now()));
             wallet.addInvestment(investment);
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
             sut.removeInvestment(user.getId(), investment.getId());
             assertThat(sut.getInvestments(user.getId()).size()).isEqualTo(0);
         }
@@ -1461,7 +1735,7 @@ class WalletServiceTest {
         @DisplayName("Should throw exception when investment not found on removeInvestment")
         void shouldThrowExceptionWhenInvestmentNotFoundOnRemoveInvestment(){
             UUID randomInvestmentId = UUID.randomUUID();
-            when(repository.findByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
+            when(repository.findWithInvestmentsByUser_Id(user.getId())).thenReturn(Optional.of(wallet));
             assertThatThrownBy(() -> sut.removeInvestment(user.getId(), randomInvestmentId))
                     .isInstanceOf(NoSuchElementException.class)
                     .hasMessage("Investment not found: " + randomInvestmentId);
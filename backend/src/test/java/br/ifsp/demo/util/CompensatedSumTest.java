@@ -0,0 +1,59 @@
+package br.ifsp.demo.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompensatedSumTest {
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should keep small terms that a naive sum loses")
+    void shouldKeepSmallTermsThatANaiveSumLoses() {
+        CompensatedSum sut = new CompensatedSum();
+        double naive = 0;
+        sut.add(1e16);
+        naive += 1e16;
+        for (int i = 0; i < 1_000; i++) {
+            sut.add(1.0);
+            naive += 1.0;
+        }
+        sut.add(-1e16);
+        naive -= 1e16;
+
+        assertThat(naive).isZero();
+        assertThat(sut.value()).isEqualTo(1_000.0);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should sum a million cents exactly")
+    void shouldSumAMillionCentsExactly() {
+        CompensatedSum sut = new CompensatedSum();
+        for (int i = 0; i < 1_000_000; i++) {
+            sut.add(0.01);
+        }
+
+        assertThat(sut.value()).isEqualTo(10_000.0);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should compensate each slot of primitive arrays independently")
+    void shouldCompensateEachSlotOfPrimitiveArraysIndependently() {
+        double[] sums = new double[2];
+        double[] compensations = new double[2];
+        for (int i = 0; i < 200_000; i++) {
+            CompensatedSum.add(sums, compensations, 0, 77777.77);
+            CompensatedSum.add(sums, compensations, 1, 0.01);
+        }
+
+        assertThat(Math.round((sums[0] + compensations[0]) * 100.0)).isEqualTo(1_555_555_400_000L);
+        assertThat(sums[1] + compensations[1]).isEqualTo(2_000.0);
+    }
+}
@@ -0,0 +1,103 @@
+package br.ifsp.demo.util;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompoundInterestCalculatorTest {
+
+    private static double referenceBalance(double initialValue, double profitability, long days) {
+        BigDecimal time = BigDecimal.valueOf(days)
+                .divide(BigDecimal.valueOf(30.0), 10, RoundingMode.HALF_UP);
+        BigDecimal growth = BigDecimal.valueOf(profitability).add(BigDecimal.ONE);
+        BigDecimal compound = BigDecimal.valueOf(Math.pow(growth.doubleValue(), time.doubleValue()));
+        return BigDecimal.valueOf(initialValue).multiply(compound).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    private static double balance(double initialValue, double profitability, long days) {
+        return CompoundInterestCalculator.balance(initialValue, CompoundInterestCalculator.growthFactor(profitability), days);
+    }
+
+    @ParameterizedTest
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @CsvSource({
+            "1000, 0.1, 29, 1096.51",
+            "1000, 0.1, 31, 1103.50",
+            "1000, 0.1, 28, 1093.03",
+            "1000, 0.1, 184, 1794.22",
+            "1000, 0.1, 0, 1000.00",
+            "1000, 0.1, 30, 1100.00"
+    })
+    @DisplayName("Should calculate compound balance for known scenarios")
+    void shouldCalculateCompoundBalanceForKnownScenarios(double initialValue, double profitability, long days, double expected) {
+        assertThat(balance(initialValue, profitability, days)).isEqualTo(expected);
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should produce the same two decimal balance as the BigDecimal implementation")
+    void shouldProduceTheSameTwoDecimalBalanceAsTheBigDecimalImplementation() {
+        Random random = new Random(20250425L);
+        SoftAssertions softly = new SoftAssertions();
+
+        for (int i = 0; i < 200_000; i++) {
+            double initialValue = Math.round(random.nextDouble() * 10_000_000) / 100.0 + 0.01;
+            double profitability = (random.nextInt(2_000) + 100) / 10_000.0;
+            long days = random.nextInt(4_000) - 100;
+
+            double expected = referenceBalance(initialValue, profitability, days);
+            double actual = balance(initialValue, profitability, days);
+            if (expected != actual) {
+                softly.fail("Mismatch for value=%s profitability=%s days=%s: expected %s but was %s",
+                        initialValue, profitability, days, expected, actual);
+            }
+        }
+        softly.assertAll();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @DisplayName("Should round half cent ties up like the BigDecimal implementation")
+    void shouldRoundHalfCentTiesUpLikeTheBigDecimalImplementation() {
+        SoftAssertions softly = new SoftAssertions();
+        for (int thousandths = 5; thousandths < 100_000; thousandths += 10) {
+            double initialValue = thousandths / 1000.0;
+            softly.assertThat(balance(initialValue, 0.1, 0))
+                    .as("value %s", initialValue)
+                    .isEqualTo(referenceBalance(initialValue, 0.1, 0));
+        }
+        softly.assertAll();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Should return the same balance in cents and in reais")
+    void shouldReturnTheSameBalanceInCentsAndInReais() {
+        double growthFactor = CompoundInterestCalculator.growthFactor(0.1);
+        long cents = CompoundInterestCalculator.balanceInCents(1000, growthFactor, 184);
+        assertThat(cents).isEqualTo(179422L);
+        assertThat(cents / 100.0).isEqualTo(CompoundInterestCalculator.balance(1000, growthFactor, 184));
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Should round elapsed periods symmetrically for negative days")
+    void shouldRoundElapsedPeriodsSymmetricallyForNegativeDays() {
+        assertThat(CompoundInterestCalculator.periods(-10)).isEqualTo(-CompoundInterestCalculator.periods(10));
+        assertThat(CompoundInterestCalculator.periods(20)).isEqualTo(0.6666666667);
+    }
+}
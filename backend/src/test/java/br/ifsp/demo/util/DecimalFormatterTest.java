@@ -0,0 +1,75 @@
+package br.ifsp.demo.util;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DecimalFormatterTest {
+
+    private static String format(DecimalFormatter formatter, double value) throws IOException {
+        StringWriter writer = new StringWriter();
+        formatter.writeTwoDecimals(value, writer);
+        return writer.toString();
+    }
+
+    @ParameterizedTest
+    @Tag("UnitTest")
+    @Tag("Functional")
+    @ValueSource(strings = {"pt-BR", "en-US", "de-DE", "ar-EG"})
+    @DisplayName("Should write the same text as String.format for random values")
+    void shouldWriteTheSameTextAsStringFormatForRandomValues(String languageTag) throws IOException {
+        Locale locale = Locale.forLanguageTag(languageTag);
+        DecimalFormatter sut = new DecimalFormatter(locale);
+        Random random = new Random(20250425L);
+        SoftAssertions softly = new SoftAssertions();
+
+        for (int i = 0; i < 200_000; i++) {
+            double value = switch (i % 4) {
+                case 0 -> random.nextDouble() * 1_000_000;
+                case 1 -> Math.round(random.nextDouble() * 100_000_000) / 1000.0;
+                case 2 -> -random.nextDouble() * 100;
+                default -> (random.nextInt(10_000) / 10_000.0) * 100.0;
+            };
+            String expected = String.format(locale, "%.2f", value);
+            String actual = format(sut, value);
+            if (!expected.equals(actual)) softly.fail("Mismatch for %s: expected %s but was %s", value, expected, actual);
+        }
+        softly.assertAll();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Should write the same text as String.format for edge values")
+    void shouldWriteTheSameTextAsStringFormatForEdgeValues() throws IOException {
+        Locale locale = Locale.forLanguageTag("pt-BR");
+        DecimalFormatter sut = new DecimalFormatter(locale);
+        double[] values = {0, -0.0, 0.005, 0.125, 1.005, 2.675, 1139.125, -0.001, 0.994999, 0.995,
+                99.99999, 1e13, 4.5e13, 1e20, -1e20, Double.MAX_VALUE, Double.MIN_VALUE,
+                Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+
+        SoftAssertions softly = new SoftAssertions();
+        for (double value : values) {
+            softly.assertThat(format(sut, value)).as("value %s", value).isEqualTo(String.format(locale, "%.2f", value));
+        }
+        softly.assertAll();
+    }
+
+    @Test
+    @Tag("UnitTest")
+    @Tag("Structural")
+    @DisplayName("Should use the default format locale when none is given")
+    void shouldUseTheDefaultFormatLocaleWhenNoneIsGiven() throws IOException {
+        assertThat(format(new DecimalFormatter(), 1234.5)).isEqualTo(String.format("%.2f", 1234.5));
+    }
+}
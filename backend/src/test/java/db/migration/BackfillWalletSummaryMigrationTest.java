@@ -0,0 +1,196 @@
+package db.migration;
+
+import br.ifsp.demo.domain.Asset;
+import br.ifsp.demo.domain.AssetType;
+import br.ifsp.demo.domain.Investment;
+import br.ifsp.demo.util.CompoundInterestCalculator;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static br.ifsp.demo.domain.InvestmentFactory.createInvestmentWithPurchaseDate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class BackfillWalletSummaryMigrationTest {
+    private Path database;
+    private String url;
+    private Connection connection;
+    private Map<AssetType, Asset> assets;
+
+    @BeforeEach
+    void setUp() throws IOException, SQLException {
+        database = Files.createTempFile("wallet-summary-backfill", ".db");
+        url = "jdbc:sqlite:" + database + "?foreign_keys=true";
+        Flyway.configure().dataSource(url, null, null).target("3").load().migrate();
+        connection = DriverManager.getConnection(url);
+        assets = loadAssets();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException, SQLException {
+        connection.close();
+        Files.deleteIfExists(database);
+    }
+
+    private Map<AssetType, Asset> loadAssets() throws SQLException {
+        Map<AssetType, Asset> byType = new HashMap<>();
+        try (ResultSet rows = connection.createStatement()
+                .executeQuery("SELECT id, name, asset_type, profitability, maturity_date FROM asset")) {
+            while (rows.next()) {
+                AssetType type = AssetType.valueOf(rows.getString("asset_type"));
+                byType.putIfAbsent(type, Asset.restore(UUID.fromString(rows.getString("id")), rows.getString("name"), type,
+                        rows.getDouble("profitability"), rows.getDate("maturity_date").toLocalDate()));
+            }
+        }
+        return byType;
+    }
+
+    private String insertWallet() throws SQLException {
+        String userId = UUID.randomUUID().toString();
+        String walletId = UUID.randomUUID().toString();
+        execute("INSERT INTO app_user (id, email, lastname, name, password, role) VALUES (?, ?, 'Snow', 'John', 'secret', 'USER')",
+                userId, userId + "@snow.com");
+        execute("INSERT INTO wallet (id, user_id) VALUES (?, ?)", walletId, userId);
+        return walletId;
+    }
+
+    private void insertInvestment(String walletId, Investment investment) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO investment (id, initial_value, purchase_date, withdraw_date, asset_id, wallet_id)
+                VALUES (?, ?, ?, ?, ?, ?)""")) {
+            insert.setString(1, investment.getId().toString());
+            insert.setDouble(2, investment.getInitialValue());
+            insert.setDate(3, java.sql.Date.valueOf(investment.getPurchaseDate()));
+            insert.setDate(4, investment.getWithdrawDate() == null ? null : java.sql.Date.valueOf(investment.getWithdrawDate()));
+            insert.setString(5, investment.getAsset().getId().toString());
+            insert.setString(6, walletId);
+            insert.executeUpdate();
+        }
+    }
+
+    private void execute(String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) statement.setObject(i + 1, parameters[i]);
+            statement.executeUpdate();
+        }
+    }
+
+    private long[] summaryOf(String walletId) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT future_balance_cents, realized_balance_cents FROM wallet_summary WHERE wallet_id = ?")) {
+            query.setString(1, walletId);
+            try (ResultSet row = query.executeQuery()) {
+                return row.next() ? new long[]{row.getLong(1), row.getLong(2)} : null;
+            }
+        }
+    }
+
+    private long[] countsOf(String walletId, AssetType type) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement("""
+                SELECT active_count, withdrawn_count FROM wallet_summary_asset_type
+                WHERE wallet_id = ? AND asset_type = ?""")) {
+            query.setString(1, walletId);
+            query.setString(2, type.name());
+            try (ResultSet row = query.executeQuery()) {
+                return row.next() ? new long[]{row.getLong(1), row.getLong(2)} : null;
+            }
+        }
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should backfill balances and counts of wallets created before the summary table")
+    void shouldBackfillBalancesAndCountsOfWalletsCreatedBeforeTheSummaryTable() throws SQLException {
+        String walletId = insertWallet();
+        Investment firstCdb = new Investment(1000, assets.get(AssetType.CDB));
+        Investment secondCdb = new Investment(2500.55, assets.get(AssetType.CDB));
+        Investment withdrawnLci = new Investment(700, assets.get(AssetType.LCI));
+        withdrawnLci.setWithdrawDate(LocalDate.now().plusMonths(7));
+        for (Investment investment : new Investment[]{firstCdb, secondCdb, withdrawnLci})
+            insertInvestment(walletId, investment);
+        String emptyWalletId = insertWallet();
+
+        Flyway.configure().dataSource(url, null, null).load().migrate();
+
+        assertThat(summaryOf(walletId)).containsExactly(
+                firstCdb.calculateFutureBalanceInCents() + secondCdb.calculateFutureBalanceInCents(),
+                withdrawnLci.calculateCurrentBalanceInCents());
+        assertThat(countsOf(walletId, AssetType.CDB)).containsExactly(2, 0);
+        assertThat(countsOf(walletId, AssetType.LCI)).containsExactly(0, 1);
+        assertThat(summaryOf(emptyWalletId)).containsExactly(0, 0);
+        assertThat(countsOf(emptyWalletId, AssetType.CDB)).isNull();
+    }
+
+    private Object[] discountedOf(String walletId, Asset asset) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement("""
+                SELECT anchor_date, discounted_value, active_count FROM wallet_summary_asset
+                WHERE wallet_id = ? AND asset_id = ?""")) {
+            query.setString(1, walletId);
+            query.setString(2, asset.getId().toString());
+            try (ResultSet row = query.executeQuery()) {
+                return row.next()
+                        ? new Object[]{row.getDate(1).toLocalDate(), row.getDouble(2), row.getLong(3)}
+                        : null;
+            }
+        }
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should backfill the discounted value of the active investments of each asset")
+    void shouldBackfillTheDiscountedValueOfTheActiveInvestmentsOfEachAsset() throws SQLException {
+        String walletId = insertWallet();
+        Asset cdb = assets.get(AssetType.CDB);
+        Investment recent = createInvestmentWithPurchaseDate(1000, cdb, LocalDate.now().minusDays(12));
+        Investment older = createInvestmentWithPurchaseDate(2500.55, cdb, LocalDate.now().minusDays(400));
+        Investment withdrawnLci = new Investment(700, assets.get(AssetType.LCI));
+        withdrawnLci.setWithdrawDate(LocalDate.now());
+        for (Investment investment : new Investment[]{recent, older, withdrawnLci})
+            insertInvestment(walletId, investment);
+
+        Flyway.configure().dataSource(url, null, null).load().migrate();
+
+        Object[] discounted = discountedOf(walletId, cdb);
+        LocalDate anchorDate = (LocalDate) discounted[0];
+        long balanceInCents = CompoundInterestCalculator.balanceInCents((double) discounted[1],
+                CompoundInterestCalculator.compound(cdb.getGrowthFactor(), ChronoUnit.DAYS.between(anchorDate, LocalDate.now())));
+        assertThat(anchorDate).isEqualTo(cdb.getMaturityDate());
+        assertThat(discounted[2]).isEqualTo(2L);
+        assertThat(balanceInCents).isCloseTo(
+                recent.calculateCurrentBalanceInCents() + older.calculateCurrentBalanceInCents(), within(1L));
+        assertThat(discountedOf(walletId, assets.get(AssetType.LCI))).isNull();
+    }
+
+    @Test
+    @Tag("Functional")
+    @DisplayName("Should keep the summary of wallets that already have one")
+    void shouldKeepTheSummaryOfWalletsThatAlreadyHaveOne() throws SQLException {
+        String walletId = insertWallet();
+        insertInvestment(walletId, new Investment(1000, assets.get(AssetType.CDB)));
+        execute("INSERT INTO wallet_summary (wallet_id, future_balance_cents, realized_balance_cents) VALUES (?, 42, 7)",
+                walletId);
+
+        Flyway.configure().dataSource(url, null, null).load().migrate();
+
+        assertThat(summaryOf(walletId)).containsExactly(42, 7);
+        assertThat(countsOf(walletId, AssetType.CDB)).isNull();
+    }
+}